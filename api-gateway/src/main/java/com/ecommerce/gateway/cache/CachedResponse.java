@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A cached upstream response: only headers describing the body are kept, never per-request ones.
+ *
+ * @param path request path the entry was stored under, used for targeted invalidation
+ */
+public record CachedResponse(String path, int status, HttpHeaders headers, byte[] body, String etag,
+                             long expiresAtMillis) {
+
+    public long remainingSeconds() {
+        return Math.max(0, (expiresAtMillis - System.currentTimeMillis()) / 1000);
+    }
+
+    public boolean isFresh() {
+        return expiresAtMillis > System.currentTimeMillis();
+    }
+}
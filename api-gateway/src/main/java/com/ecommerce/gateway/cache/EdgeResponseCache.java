@@ -0,0 +1,169 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.gateway.config.EdgeCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage, miss coalescing and invalidation for the gateway's edge response cache.
+ *
+ * Entries are bounded by total body size (Caffeine weigher) and expire at their own freshness
+ * deadline. Concurrent misses for the same key register with {@link #joinInFlight}: the first
+ * caller goes upstream, the others wait for its result. Product change messages from Redis
+ * pub/sub drop the affected entries.
+ *
+ * Each in-flight fetch carries a generation counter that invalidations bump. A response whose
+ * key was invalidated while it was being fetched may predate the change, so it is neither stored
+ * nor handed to waiting callers (they go upstream themselves).
+ */
+public class EdgeResponseCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EdgeResponseCache.class);
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final PathPattern itemPathPattern;
+    private final MeterRegistry meterRegistry;
+
+    public EdgeResponseCache(EdgeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.itemPathPattern = PathPatternParser.defaultInstance.parse(properties.getItemPathPattern());
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new FreshnessExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.edge");
+    }
+
+    public CachedResponse getIfFresh(String key) {
+        CachedResponse cached = entries.getIfPresent(key);
+        return cached != null && cached.isFresh() ? cached : null;
+    }
+
+    /**
+     * Stores a response fetched by the leader of {@code key}'s in-flight miss, unless the key was
+     * invalidated since the fetch started.
+     */
+    public void put(String key, CachedResponse response) {
+        // under the map's per-key lock, so an invalidation cannot slip between check and put
+        inFlight.computeIfPresent(key, (k, fetch) -> {
+            if (!fetch.invalidated()) {
+                entries.put(key, response);
+            }
+            return fetch;
+        });
+    }
+
+    /**
+     * Registers interest in an upstream fetch for {@code key}.
+     *
+     * @return empty if the caller is the leader and must fetch (then call {@link #completeInFlight});
+     *         otherwise the leader's eventual result (empty Optional if it was not cacheable)
+     */
+    public Optional<Mono<Optional<CachedResponse>>> joinInFlight(String key) {
+        InFlight fetch = new InFlight(Sinks.one(), new AtomicLong());
+        InFlight existing = inFlight.putIfAbsent(key, fetch);
+        return existing == null ? Optional.empty() : Optional.of(existing.sink().asMono());
+    }
+
+    public void completeInFlight(String key, CachedResponse response) {
+        InFlight fetch = inFlight.remove(key);
+        if (fetch != null) {
+            fetch.sink().tryEmitValue(Optional.ofNullable(fetch.invalidated() ? null : response));
+        }
+    }
+
+    public void recordOutcome(String outcome) {
+        meterRegistry.counter("gateway.edge.requests", "outcome", outcome).increment();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String productId = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (CacheNames.ALL_PRODUCTS.equals(productId)) {
+            inFlight.keySet().forEach(this::bumpGeneration);
+            entries.invalidateAll();
+        } else {
+            invalidateProduct(productId);
+        }
+        log.debug("Edge cache invalidated for product change {}", productId);
+    }
+
+    /**
+     * Drops the product's own responses and every response that is not another product's detail.
+     */
+    void invalidateProduct(String productId) {
+        // in-flight fetches first: one that stores after this point has its put skipped, one that
+        // stored before is removed by the sweep below
+        inFlight.keySet().forEach(key -> {
+            int query = key.indexOf('?');
+            if (isAffected(query < 0 ? key : key.substring(0, query), productId)) {
+                bumpGeneration(key);
+            }
+        });
+        entries.asMap().values().removeIf(response -> isAffected(response.path(), productId));
+    }
+
+    private boolean isAffected(String path, String productId) {
+        PathPattern.PathMatchInfo match = itemPathPattern.matchAndExtract(PathContainer.parsePath(path));
+        return match == null || productId.equals(match.getUriVariables().get("id"));
+    }
+
+    private void bumpGeneration(String key) {
+        inFlight.computeIfPresent(key, (k, fetch) -> {
+            fetch.generation().incrementAndGet();
+            return fetch;
+        });
+    }
+
+    /**
+     * A miss being fetched upstream; {@code generation} starts at 0 when the fetch starts and is
+     * bumped by every invalidation of its key.
+     */
+    private record InFlight(Sinks.One<Optional<CachedResponse>> sink, AtomicLong generation) {
+
+        boolean invalidated() {
+            return generation.get() != 0;
+        }
+    }
+
+    private static final class FreshnessExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.ecommerce.gateway.concurrency;
+
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties.Priority;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one downstream route, adapted from observed latency (gradient algorithm).
+ *
+ * Each completed request feeds its latency into a slow-moving long-term average; the limit is
+ * scaled by {@code tolerance * longRtt / sampleRtt} (clamped to [0.5, 1]) plus a small headroom of
+ * {@code sqrt(limit)}, then smoothed. Rising latency therefore shrinks the limit before downstream
+ * queues build up, and the headroom lets it grow back once latency recovers. 5xx responses and
+ * errors cut the limit multiplicatively.
+ *
+ * Requests over their priority's share of the limit wait in a short bounded queue (highest
+ * priority served first) and are shed once the queue is full or the wait expires.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_WINDOW = 600;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final ConcurrencyLimitProperties.Limiter settings;
+    private final Priority[] priorities = Priority.values();
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Limiter settings) {
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+        for (int i = 0; i < priorities.length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Emits a permit once the request may proceed, or fails with {@link OverloadedException}.
+     * The permit must be released exactly once the downstream call finishes.
+     */
+    public Mono<Permit> acquire(Priority priority) {
+        Waiter waiter;
+        synchronized (this) {
+            if (inFlight < allowed(priority) && !queuedAtOrAbove(priority)) {
+                inFlight++;
+                return Mono.just(new Permit(System.nanoTime()));
+            }
+            if (queued >= settings.getMaxQueueSize()) {
+                return Mono.error(new OverloadedException("queue full"));
+            }
+            waiter = new Waiter();
+            queues.get(priority.ordinal()).addLast(waiter);
+            queued++;
+        }
+        return Mono.<Permit>create(sink -> waiter.attach(sink))
+                .timeout(settings.getMaxQueueWait())
+                .onErrorMap(TimeoutException.class, e -> new OverloadedException("queue wait expired"));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queued;
+    }
+
+    private boolean queuedAtOrAbove(Priority priority) {
+        for (int p = 0; p <= priority.ordinal(); p++) {
+            if (!queues.get(p).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int allowed(Priority priority) {
+        return Math.max(1, (int) (limit * priority.limitShare()));
+    }
+
+    private void onRelease(long rttNanos, Outcome outcome) {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            if (outcome == Outcome.SUCCESS) {
+                updateLimit(rttNanos);
+            } else if (outcome == Outcome.DROPPED) {
+                limit = Math.max(settings.getMinLimit(), limit * DROP_BACKOFF);
+            }
+            granted = grantQueued();
+        }
+        granted.forEach(Waiter::deliver);
+    }
+
+    private void updateLimit(long rttNanos) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_RTT_WINDOW;
+        }
+        // Latency dropped well below the long-term average: let the average catch up faster
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT,
+                Math.min(1.0, settings.getTolerance() * longRttNanos / Math.max(rttNanos, 1)));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        // Only grow when the limit is actually being used; an idle route says nothing about capacity
+        if (estimate > limit && inFlight < limit / 2) {
+            return;
+        }
+        double smoothed = limit * (1 - settings.getSmoothing()) + estimate * settings.getSmoothing();
+        limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), smoothed));
+    }
+
+    /**
+     * Hands free capacity to queued requests, highest priority first. Caller holds the lock;
+     * the returned waiters are completed outside it.
+     */
+    private List<Waiter> grantQueued() {
+        List<Waiter> granted = new ArrayList<>();
+        for (int p = 0; p < priorities.length && queued > 0; p++) {
+            ArrayDeque<Waiter> queue = queues.get(p);
+            while (!queue.isEmpty() && inFlight < allowed(priorities[p])) {
+                Waiter waiter = queue.pollFirst();
+                queued--;
+                if (waiter.grant()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+        return granted;
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        for (ArrayDeque<Waiter> queue : queues) {
+            if (queue.remove(waiter)) {
+                queued--;
+                return;
+            }
+        }
+    }
+
+    public enum Outcome {
+        /** Completed normally; the latency sample is used. */
+        SUCCESS,
+        /** Failed or 5xx; signals overload. */
+        DROPPED,
+        /** Cancelled by the client; says nothing about downstream capacity. */
+        IGNORED
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Idempotent: only the first call returns the permit.
+         */
+        public void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(System.nanoTime() - startNanos, outcome);
+            }
+        }
+    }
+
+    /**
+     * A queued request. Exactly one of grant (by a releasing request) or cancel (timeout or
+     * client gone) wins; a permit granted to a waiter that was cancelled meanwhile is handed back.
+     */
+    private final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean delivered = new AtomicBoolean();
+        private volatile MonoSink<Permit> sink;
+        private volatile Permit permit;
+
+        void attach(MonoSink<Permit> sink) {
+            this.sink = sink;
+            sink.onCancel(this::cancel);
+            // Granted before the subscriber arrived
+            if (state.get() == GRANTED) {
+                deliver();
+            }
+        }
+
+        boolean grant() {
+            // Published before the state flips, so a racing cancel always sees it
+            permit = new Permit(System.nanoTime());
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        void deliver() {
+            MonoSink<Permit> current = sink;
+            if (current != null && permit != null && delivered.compareAndSet(false, true)) {
+                current.success(permit);
+            }
+        }
+
+        void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                removeWaiter(this);
+            } else if (permit != null && delivered.compareAndSet(false, true)) {
+                permit.release(Outcome.IGNORED);
+            }
+        }
+    }
+
+    public static class OverloadedException extends RuntimeException {
+
+        public OverloadedException(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.gateway.concurrency;
+
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties;
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties.Priority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per route, created on first use, plus request
+ * classification into priority classes (patterns compiled once).
+ *
+ * Gauges per route: gateway.concurrency.limit, gateway.concurrency.inflight,
+ * gateway.concurrency.queue.depth.
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> excludedRoutes;
+    private final List<CompiledRule> priorityRules;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiterRegistry(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.excludedRoutes = Set.copyOf(properties.getExcludedRoutes());
+        this.priorityRules = properties.getPriorities().stream()
+                .map(rule -> new CompiledRule(
+                        PathPatternParser.defaultInstance.parse(rule.getPath()),
+                        rule.getMethods().stream().map(HttpMethod::valueOf).collect(Collectors.toUnmodifiableSet()),
+                        rule.getPriority()))
+                .toList();
+    }
+
+    /**
+     * @return the route's limiter, or null if the route is excluded from limiting
+     */
+    public AdaptiveConcurrencyLimiter limiterFor(String routeId) {
+        if (excludedRoutes.contains(routeId)) {
+            return null;
+        }
+        return limiters.computeIfAbsent(routeId, this::createLimiter);
+    }
+
+    public Priority classify(PathContainer path, HttpMethod method) {
+        for (CompiledRule rule : priorityRules) {
+            if ((rule.methods().isEmpty() || rule.methods().contains(method)) && rule.pattern().matches(path)) {
+                return rule.priority();
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    public void recordOutcome(String routeId, Priority priority, String outcome) {
+        meterRegistry.counter("gateway.concurrency.requests",
+                "route", routeId, "priority", priority.name(), "outcome", outcome).increment();
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String routeId) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.limiterFor(routeId));
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queue.depth", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private record CompiledRule(PathPattern pattern, Set<HttpMethod> methods, Priority priority) {
+    }
+}
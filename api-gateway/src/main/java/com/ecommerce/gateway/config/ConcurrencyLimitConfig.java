@@ -0,0 +1,29 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiterRegistry;
+import com.ecommerce.gateway.filter.ConcurrencyLimitGatewayFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limiting; switched off with {@code gateway.concurrency.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimiterRegistry concurrencyLimiterRegistry(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new ConcurrencyLimiterRegistry(properties, meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimitGatewayFilter concurrencyLimitGatewayFilter(ConcurrencyLimiterRegistry registry) {
+        return new ConcurrencyLimitGatewayFilter(registry);
+    }
+}
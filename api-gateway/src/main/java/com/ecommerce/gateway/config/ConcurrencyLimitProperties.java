@@ -0,0 +1,207 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptive per-route concurrency limits and the priority classes used when a route is saturated.
+ *
+ * <pre>
+ * gateway.concurrency:
+ *   excluded-routes: [notification-saga-stream]
+ *   routes:
+ *     order-service: { max-limit: 200 }
+ *   priorities:
+ *     - { path: /api/products/**, methods: [GET], priority: HIGH }
+ *     - { path: /api/orders, methods: [POST], priority: LOW }
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency")
+public class ConcurrencyLimitProperties {
+
+    public enum Priority {
+        /** May use the whole limit and is served first from the queue. */
+        HIGH(1.0),
+        NORMAL(0.9),
+        /** Capped well below the limit, so it is shed first when a route saturates. */
+        LOW(0.6);
+
+        private final double limitShare;
+
+        Priority(double limitShare) {
+            this.limitShare = limitShare;
+        }
+
+        public double limitShare() {
+            return limitShare;
+        }
+    }
+
+    private boolean enabled = true;
+
+    /** Routes that are never limited, e.g. long-lived streams. */
+    private List<String> excludedRoutes = new ArrayList<>();
+
+    private Limiter defaults = new Limiter();
+
+    /** Route id → limiter settings replacing the defaults. */
+    private Map<String, Limiter> routes = new HashMap<>();
+
+    /** First matching rule wins; unmatched requests are NORMAL. */
+    private List<PriorityRule> priorities = new ArrayList<>();
+
+    public Limiter limiterFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getExcludedRoutes() {
+        return excludedRoutes;
+    }
+
+    public void setExcludedRoutes(List<String> excludedRoutes) {
+        this.excludedRoutes = excludedRoutes;
+    }
+
+    public Limiter getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limiter defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limiter> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limiter> routes) {
+        this.routes = routes;
+    }
+
+    public List<PriorityRule> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(List<PriorityRule> priorities) {
+        this.priorities = priorities;
+    }
+
+    public static class Limiter {
+
+        private int initialLimit = 50;
+        private int minLimit = 10;
+        private int maxLimit = 500;
+
+        /** Latency increase over the long-term average tolerated before the limit shrinks. */
+        private double tolerance = 1.5;
+
+        /** Weight of each new limit estimate (0..1). */
+        private double smoothing = 0.2;
+
+        /** Requests allowed to wait for a permit; beyond that they are shed immediately. */
+        private int maxQueueSize = 100;
+
+        private Duration maxQueueWait = Duration.ofMillis(200);
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public Duration getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+        public void setMaxQueueWait(Duration maxQueueWait) {
+            this.maxQueueWait = maxQueueWait;
+        }
+    }
+
+    public static class PriorityRule {
+
+        private String path;
+        /** Empty means any method. */
+        private List<String> methods = new ArrayList<>();
+        private Priority priority = Priority.NORMAL;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+    }
+}
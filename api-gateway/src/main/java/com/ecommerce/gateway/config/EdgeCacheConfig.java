@@ -0,0 +1,42 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.cache.EdgeResponseCache;
+import com.ecommerce.gateway.filter.EdgeCacheGatewayFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Edge response cache for public catalog GETs; switched off with {@code gateway.edge-cache.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(EdgeCacheProperties.class)
+@ConditionalOnProperty(prefix = "gateway.edge-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeCacheConfig {
+
+    @Bean
+    public EdgeResponseCache edgeResponseCache(EdgeCacheProperties properties, MeterRegistry meterRegistry) {
+        return new EdgeResponseCache(properties, meterRegistry);
+    }
+
+    @Bean
+    public EdgeCacheGatewayFilter edgeCacheGatewayFilter(EdgeResponseCache edgeResponseCache,
+                                                         EdgeCacheProperties properties) {
+        return new EdgeCacheGatewayFilter(edgeResponseCache, properties);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer edgeCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       EdgeResponseCache edgeResponseCache,
+                                                                       EdgeCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(edgeResponseCache, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.common.cache.CacheNames;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway response cache for public, read-heavy GET routes.
+ *
+ * {@code item-path-pattern} identifies single-product responses (its {@code {id}} variable is the
+ * product id): a change to product X drops X's entries and every other cached response (listings,
+ * facets), but keeps the detail responses of other products.
+ */
+@ConfigurationProperties(prefix = "gateway.edge-cache")
+public class EdgeCacheProperties {
+
+    private boolean enabled = true;
+
+    /** PathPatterns of cacheable GET requests. */
+    private List<String> paths = new ArrayList<>(List.of("/api/products", "/api/products/**"));
+
+    private String itemPathPattern = "/api/products/{id:[0-9a-fA-F]{24}}";
+
+    /** Freshness when the upstream response carries no max-age. */
+    private Duration defaultTtl = Duration.ofSeconds(30);
+
+    /** Upper bound on any entry's freshness, whatever the upstream says. */
+    private Duration maxTtl = Duration.ofMinutes(5);
+
+    /** Total size of cached bodies. */
+    private long maximumBytes = 64L * 1024 * 1024;
+
+    /** Larger responses are passed through without caching. */
+    private int maxEntryBytes = 512 * 1024;
+
+    /** How long concurrent misses wait for the in-flight upstream request before going upstream themselves. */
+    private Duration coalesceTimeout = Duration.ofSeconds(5);
+
+    private String invalidationChannel = CacheNames.PRODUCT_CHANGES_CHANNEL;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public String getItemPathPattern() {
+        return itemPathPattern;
+    }
+
+    public void setItemPathPattern(String itemPathPattern) {
+        this.itemPathPattern = itemPathPattern;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Duration getMaxTtl() {
+        return maxTtl;
+    }
+
+    public void setMaxTtl(Duration maxTtl) {
+        this.maxTtl = maxTtl;
+    }
+
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    public void setMaximumBytes(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(int maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public Duration getCoalesceTimeout() {
+        return coalesceTimeout;
+    }
+
+    public void setCoalesceTimeout(Duration coalesceTimeout) {
+        this.coalesceTimeout = coalesceTimeout;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
@@ -1,11 +1,18 @@
 package com.ecommerce.gateway.config;
 
 import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.gateway.security.PublicPathMatcher;
+import com.ecommerce.gateway.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
+@EnableConfigurationProperties(GatewaySecurityProperties.class)
 public class GatewayConfig {
 
     @Value("${jwt.secret:ecommerce-super-secret-key-that-is-at-least-256-bits-long-for-hmac-sha}")
@@ -14,8 +21,24 @@ public class GatewayConfig {
     @Value("${jwt.expiration-ms:86400000}")
     private long jwtExpirationMs;
 
+    @Value("${gateway.jwt.verified-cache.maximum-size:50000}")
+    private long verifiedCacheMaximumSize;
+
+    @Value("${gateway.jwt.verified-cache.max-ttl:5m}")
+    private Duration verifiedCacheMaxTtl;
+
     @Bean
     public JwtUtil jwtUtil() {
         return new JwtUtil(jwtSecret, jwtExpirationMs);
     }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        return new VerifiedTokenCache(jwtUtil, verifiedCacheMaximumSize, verifiedCacheMaxTtl, meterRegistry);
+    }
+
+    @Bean
+    public PublicPathMatcher publicPathMatcher(GatewaySecurityProperties properties) {
+        return new PublicPathMatcher(properties);
+    }
 }
@@ -0,0 +1,85 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paths that JwtAuthenticationFilter lets through without a token.
+ *
+ * <pre>
+ * gateway.security:
+ *   public-paths: [/api/auth/**, /actuator/**]
+ *   public-endpoints:
+ *     - path: /api/products/**
+ *       methods: [GET]
+ * </pre>
+ *
+ * Patterns use Spring's PathPattern syntax; a trailing {@code /**} also matches the path without it.
+ */
+@ConfigurationProperties(prefix = "gateway.security")
+public class GatewaySecurityProperties {
+
+    /** Public for every HTTP method. */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/api/auth/**",
+            "/actuator/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/api-docs/**",
+            "/v3/api-docs/**",
+            "/webjars/**"
+    ));
+
+    /** Public only for the listed methods. */
+    private List<PublicEndpoint> publicEndpoints = new ArrayList<>(List.of(
+            new PublicEndpoint("/api/products/**", List.of("GET"))
+    ));
+
+    public List<String> getPublicPaths() {
+        return publicPaths;
+    }
+
+    public void setPublicPaths(List<String> publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    public List<PublicEndpoint> getPublicEndpoints() {
+        return publicEndpoints;
+    }
+
+    public void setPublicEndpoints(List<PublicEndpoint> publicEndpoints) {
+        this.publicEndpoints = publicEndpoints;
+    }
+
+    public static class PublicEndpoint {
+
+        private String path;
+        private List<String> methods = new ArrayList<>();
+
+        public PublicEndpoint() {
+        }
+
+        public PublicEndpoint(String path, List<String> methods) {
+            this.path = path;
+            this.methods = new ArrayList<>(methods);
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.gateway.filter.RateLimitGatewayFilter;
+import com.ecommerce.gateway.ratelimit.GatewayRateLimiter;
+import com.ecommerce.gateway.security.ClientIpResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Gateway rate limiting; switched off with {@code gateway.rate-limit.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public GatewayRateLimiter gatewayRateLimiter(RateLimitProperties properties,
+                                                 StringRedisTemplate stringRedisTemplate,
+                                                 MeterRegistry meterRegistry) {
+        return new GatewayRateLimiter(properties, stringRedisTemplate, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitGatewayFilter rateLimitGatewayFilter(GatewayRateLimiter gatewayRateLimiter,
+                                                         RateLimitProperties properties) {
+        return new RateLimitGatewayFilter(gatewayRateLimiter, new ClientIpResolver(properties.getTrustedProxies()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gateway rate limits, per route and per caller role.
+ *
+ * A limit is a token bucket: {@code capacity} is the burst size, {@code refill-per-second} the
+ * sustained rate. Authenticated callers are limited per user and looked up by their role;
+ * unauthenticated calls (public routes) are limited per client IP under {@link #ANONYMOUS_ROLE}.
+ * A route/role without an entry falls back to the route's {@code default}, then to {@link #defaults}.
+ *
+ * <pre>
+ * gateway.rate-limit:
+ *   trusted-proxies: [10.0.0.0/8]
+ *   routes:
+ *     order-service:
+ *       USER: { capacity: 20, refill-per-second: 5 }
+ *       ADMIN: { capacity: 100, refill-per-second: 50 }
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    public static final String ANONYMOUS_ROLE = "ANONYMOUS";
+    public static final String DEFAULT_ROLE = "default";
+
+    private boolean enabled = true;
+
+    /** How often local buckets exchange their consumption with Redis. */
+    private Duration syncInterval = Duration.ofMillis(500);
+
+    /** Buckets unused for this long are dropped locally and expire in Redis. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Upper bound on buckets held per instance. */
+    private long maxBuckets = 100_000;
+
+    private String redisKeyPrefix = "gateway:ratelimit:";
+
+    /**
+     * Load balancers (addresses or CIDRs) whose Forwarded / X-Forwarded-For headers identify the
+     * client. Empty: the socket peer is the client and forwarding headers are ignored.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    private Limit defaults = new Limit(100, 50);
+
+    /** Route id → role (or {@code default}) → limit. */
+    private Map<String, Map<String, Limit>> routes = new HashMap<>();
+
+    public Limit limitFor(String routeId, String role) {
+        Map<String, Limit> routeLimits = routes.get(routeId);
+        if (routeLimits == null) {
+            return defaults;
+        }
+        Limit limit = routeLimits.get(role);
+        return limit != null ? limit : routeLimits.getOrDefault(DEFAULT_ROLE, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(long maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public String getRedisKeyPrefix() {
+        return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+        this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public Limit getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limit defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Map<String, Limit>> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Map<String, Limit>> routes) {
+        this.routes = routes;
+    }
+
+    public static class Limit {
+
+        private long capacity;
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
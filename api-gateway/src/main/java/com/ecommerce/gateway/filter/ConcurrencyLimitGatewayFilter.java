@@ -0,0 +1,91 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.ecommerce.gateway.concurrency.ConcurrencyLimiterRegistry;
+import com.ecommerce.gateway.config.ConcurrencyLimitProperties.Priority;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Holds each routed request to its route's adaptive concurrency limit.
+ *
+ * Runs after rate limiting and the edge cache, so only requests that are within quota and not
+ * served from the cache compete for downstream capacity. Requests that cannot get a permit in time are answered with 503 immediately, before
+ * anything is sent downstream. The permit is returned when the exchange completes, with the
+ * latency and status feeding the limit.
+ */
+public class ConcurrencyLimitGatewayFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public ConcurrencyLimitGatewayFilter(ConcurrencyLimiterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        AdaptiveConcurrencyLimiter limiter = route != null ? registry.limiterFor(route.getId()) : null;
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Priority priority = registry.classify(request.getPath().pathWithinApplication(), request.getMethod());
+
+        return limiter.acquire(priority)
+                .onErrorResume(AdaptiveConcurrencyLimiter.OverloadedException.class, e -> {
+                    registry.recordOutcome(route.getId(), priority, "shed");
+                    return onOverloaded(exchange).then(Mono.empty());
+                })
+                .flatMap(permit -> {
+                    registry.recordOutcome(route.getId(), priority, "admitted");
+                    return chain.filter(exchange)
+                            .doFinally(signal -> permit.release(outcome(exchange, signal)));
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return 2;
+    }
+
+    private AdaptiveConcurrencyLimiter.Outcome outcome(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            return AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+        }
+        return AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+    }
+
+    private Mono<Void> onOverloaded(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+
+        String body = "{\"error\": \"Service Unavailable\", \"message\": \"Service is overloaded, retry shortly\"}";
+        DataBuffer buffer = response.bufferFactory()
+                .wrap(body.getBytes(StandardCharsets.UTF_8));
+
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.cache.CachedResponse;
+import com.ecommerce.gateway.cache.EdgeResponseCache;
+import com.ecommerce.gateway.config.EdgeCacheProperties;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves configured public GET routes from {@link EdgeResponseCache}, so repeated catalog reads
+ * never leave the gateway.
+ *
+ * - Key: path plus raw query string. Configured paths must return the same body for every caller.
+ * - Freshness: upstream {@code s-maxage}/{@code max-age} (capped), else the default TTL; upstream
+ *   {@code no-store}/{@code private} responses and non-200s are never stored. A request with
+ *   {@code Cache-Control: no-cache} skips the lookup and refreshes the entry; {@code no-store}
+ *   bypasses the cache entirely.
+ * - Validation: every cached response carries an ETag (the upstream one, or a hash of the body);
+ *   a matching {@code If-None-Match} is answered with 304.
+ * - Concurrent misses for one key share a single upstream request.
+ *
+ * Runs after rate limiting but before concurrency limiting: hits still count against the caller's
+ * quota but do not take downstream capacity.
+ */
+public class EdgeCacheGatewayFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)\\s*=\\s*(\\d+)");
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.LAST_MODIFIED);
+
+    private final EdgeResponseCache cache;
+    private final EdgeCacheProperties properties;
+    private final List<PathPattern> cacheablePaths;
+
+    public EdgeCacheGatewayFilter(EdgeResponseCache cache, EdgeCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+        this.cacheablePaths = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !isCacheable(request.getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        String requestCacheControl = request.getHeaders().getCacheControl();
+        if (requestCacheControl != null && requestCacheControl.contains("no-store")) {
+            cache.recordOutcome("bypass");
+            return chain.filter(exchange);
+        }
+
+        String path = request.getPath().value();
+        String query = request.getURI().getRawQuery();
+        String key = query != null ? path + "?" + query : path;
+
+        boolean revalidate = requestCacheControl != null
+                && (requestCacheControl.contains("no-cache") || requestCacheControl.contains("max-age=0"));
+        if (!revalidate) {
+            CachedResponse cached = cache.getIfFresh(key);
+            if (cached != null) {
+                return serve(exchange, cached);
+            }
+        }
+
+        Optional<Mono<Optional<CachedResponse>>> leaderResult = cache.joinInFlight(key);
+        if (leaderResult.isPresent()) {
+            cache.recordOutcome("coalesced");
+            return leaderResult.get()
+                    .timeout(properties.getCoalesceTimeout(), Mono.just(Optional.empty()))
+                    .flatMap(result -> result.isPresent()
+                            ? serve(exchange, result.get())
+                            : chain.filter(exchange));
+        }
+
+        cache.recordOutcome("miss");
+        CapturingResponse capturing = new CapturingResponse(exchange.getResponse(), path, key);
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> cache.completeInFlight(key, capturing.stored));
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    private boolean isCacheable(PathContainer path) {
+        for (PathPattern pattern : cacheablePaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.setCacheControl("public, max-age=" + cached.remainingSeconds());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            cache.recordOutcome("not_modified");
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        cache.recordOutcome("hit");
+        response.setStatusCode(HttpStatus.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(candidate) || etag.equals(candidate) || ("W/" + etag).equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return freshness for an upstream response, or null if it must not be stored
+     */
+    private Duration freshness(String cacheControl) {
+        if (cacheControl == null) {
+            return properties.getDefaultTtl();
+        }
+        if (cacheControl.contains("no-store") || cacheControl.contains("private") || cacheControl.contains("no-cache")) {
+            return null;
+        }
+        Duration ttl = properties.getDefaultTtl();
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        while (matcher.find()) {
+            ttl = Duration.ofSeconds(Long.parseLong(matcher.group(2)));
+            if ("s-maxage".equals(matcher.group(1))) {
+                break;
+            }
+        }
+        return ttl.compareTo(properties.getMaxTtl()) > 0 ? properties.getMaxTtl() : ttl;
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it and then writes it to the client unchanged
+     * apart from the ETag and cache headers.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final String path;
+        private final String key;
+        private volatile CachedResponse stored;
+
+        CapturingResponse(ServerHttpResponse delegate, String path, String key) {
+            super(delegate);
+            this.path = path;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Duration ttl = freshness(getHeaders().getCacheControl());
+            if (getStatusCode() != HttpStatus.OK || ttl == null || ttl.isZero()) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                int size = joined.readableByteCount();
+                if (size > properties.getMaxEntryBytes()) {
+                    return super.writeWith(Mono.just(joined));
+                }
+                byte[] bytes = new byte[size];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = getHeaders();
+                String etag = headers.getETag() != null
+                        ? headers.getETag()
+                        : "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                HttpHeaders storedHeaders = new HttpHeaders();
+                STORED_HEADERS.forEach(name -> {
+                    List<String> values = headers.get(name);
+                    if (values != null) {
+                        storedHeaders.put(name, values);
+                    }
+                });
+                stored = new CachedResponse(path, HttpStatus.OK.value(), storedHeaders, bytes, etag,
+                        System.currentTimeMillis() + ttl.toMillis());
+                cache.put(key, stored);
+
+                headers.setETag(etag);
+                headers.setCacheControl("public, max-age=" + ttl.toSeconds());
+                headers.set(CACHE_STATUS_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }).switchIfEmpty(Mono.defer(() -> super.writeWith(Flux.empty())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(part -> part));
+        }
+    }
+}
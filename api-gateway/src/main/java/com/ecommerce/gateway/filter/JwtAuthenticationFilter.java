@@ -1,6 +1,9 @@
 package com.ecommerce.gateway.filter;
 
-import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.SecurityConstants;
+import com.ecommerce.gateway.security.PublicPathMatcher;
+import com.ecommerce.gateway.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -8,54 +11,39 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    private final JwtUtil jwtUtil;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-
-    private static final List<String> PUBLIC_PATHS = List.of(
-            "/api/auth/**",
-            "/actuator/**",
-            "/swagger-ui/**",
-            "/swagger-ui.html",
-            "/api-docs/**",
-            "/v3/api-docs/**",
-            "/webjars/**"
-    );
-
-    private static final List<PublicEndpoint> PUBLIC_ENDPOINTS = List.of(
-            new PublicEndpoint("/api/products", HttpMethod.GET),
-            new PublicEndpoint("/api/products/**", HttpMethod.GET)
-    );
-
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    /** Exchange attribute holding the {@link VerifiedTokenCache.VerifiedToken} of an authenticated request. */
+    public static final String VERIFIED_TOKEN_ATTR = JwtAuthenticationFilter.class.getName() + ".verifiedToken";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PublicPathMatcher publicPathMatcher;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache, PublicPathMatcher publicPathMatcher) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.publicPathMatcher = publicPathMatcher;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getPath().value();
-        HttpMethod method = request.getMethod();
 
-        if (isPublicPath(path, method)) {
-            return chain.filter(exchange);
+        if (publicPathMatcher.isPublic(request.getPath().pathWithinApplication(), request.getMethod())) {
+            return chain.filter(withoutClientIdentityHeaders(exchange));
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
@@ -68,24 +56,25 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
 
         try {
-            if (!jwtUtil.isTokenValid(token)) {
+            // Parsed and verified once per token; later requests with it are served from the cache
+            VerifiedTokenCache.VerifiedToken verified;
+            try {
+                verified = verifiedTokenCache.verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 log.warn("Invalid JWT token for path: {}", path);
                 return onUnauthorized(exchange, "Invalid JWT token");
             }
 
-            String userId = jwtUtil.getUserId(token);
-            String email = jwtUtil.getEmail(token);
-            String role = jwtUtil.getRole(token);
-
             ServerHttpRequest mutatedRequest = request.mutate()
-                    .header("X-User-Id", userId)
-                    .header("X-User-Email", email)
-                    .header("X-User-Role", role)
+                    .header("X-User-Id", verified.userId())
+                    .header("X-User-Email", verified.email())
+                    .header("X-User-Role", verified.role())
                     .build();
 
             ServerWebExchange mutatedExchange = exchange.mutate()
                     .request(mutatedRequest)
                     .build();
+            mutatedExchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verified);
 
             return chain.filter(mutatedExchange);
 
@@ -95,27 +84,33 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
+    /**
+     * Services trust the X-User-* headers as set by this filter, so a client must not be able to
+     * send its own (e.g. X-User-Role: ADMIN) on a public route. Authenticated requests get them
+     * overwritten from the token instead.
+     */
+    private static ServerWebExchange withoutClientIdentityHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(SecurityConstants.USER_ID_HEADER)
+                && !headers.containsKey(SecurityConstants.USER_EMAIL_HEADER)
+                && !headers.containsKey(SecurityConstants.USER_ROLE_HEADER)) {
+            return exchange;
+        }
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(h -> {
+                    h.remove(SecurityConstants.USER_ID_HEADER);
+                    h.remove(SecurityConstants.USER_EMAIL_HEADER);
+                    h.remove(SecurityConstants.USER_ROLE_HEADER);
+                })
+                .build();
+        return exchange.mutate().request(stripped).build();
+    }
+
     @Override
     public int getOrder() {
         return -1;
     }
 
-    private boolean isPublicPath(String path, HttpMethod method) {
-        for (String publicPath : PUBLIC_PATHS) {
-            if (pathMatcher.match(publicPath, path)) {
-                return true;
-            }
-        }
-
-        for (PublicEndpoint endpoint : PUBLIC_ENDPOINTS) {
-            if (pathMatcher.match(endpoint.path(), path) && endpoint.method().equals(method)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     private Mono<Void> onUnauthorized(ServerWebExchange exchange, String message) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
@@ -127,7 +122,4 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         return response.writeWith(Mono.just(buffer));
     }
-
-    private record PublicEndpoint(String path, HttpMethod method) {
-    }
 }
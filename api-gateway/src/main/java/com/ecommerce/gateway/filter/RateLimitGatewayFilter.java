@@ -0,0 +1,85 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.gateway.config.RateLimitProperties;
+import com.ecommerce.gateway.ratelimit.GatewayRateLimiter;
+import com.ecommerce.gateway.security.ClientIpResolver;
+import com.ecommerce.gateway.security.VerifiedTokenCache;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies {@link GatewayRateLimiter} to every routed request.
+ *
+ * Runs right after JwtAuthenticationFilter: authenticated requests are limited per user id and
+ * role, unauthenticated ones (public routes) per client IP, as resolved by {@link ClientIpResolver}
+ * through the configured trusted proxies. Rejected requests get 429 with a
+ * Retry-After header; admitted ones carry X-RateLimit-Remaining.
+ */
+public class RateLimitGatewayFilter implements GlobalFilter, Ordered {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final GatewayRateLimiter rateLimiter;
+    private final ClientIpResolver clientIpResolver;
+
+    public RateLimitGatewayFilter(GatewayRateLimiter rateLimiter, ClientIpResolver clientIpResolver) {
+        this.rateLimiter = rateLimiter;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        String role;
+        String subject;
+        VerifiedTokenCache.VerifiedToken verified = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+        if (verified != null) {
+            role = verified.role() != null ? verified.role() : RateLimitProperties.DEFAULT_ROLE;
+            subject = "user:" + verified.userId();
+        } else {
+            role = RateLimitProperties.ANONYMOUS_ROLE;
+            subject = "ip:" + clientIpResolver.resolve(exchange.getRequest());
+        }
+
+        GatewayRateLimiter.Decision decision = rateLimiter.tryAcquire(route.getId(), role, subject);
+        if (!decision.allowed()) {
+            return onTooManyRequests(exchange, decision.retryAfterSeconds());
+        }
+        exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private Mono<Void> onTooManyRequests(ServerWebExchange exchange, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+        String body = "{\"error\": \"Too Many Requests\", \"message\": \"Rate limit exceeded\"}";
+        DataBuffer buffer = response.bufferFactory()
+                .wrap(body.getBytes(StandardCharsets.UTF_8));
+
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,145 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route, per-caller rate limiting decided from local token buckets.
+ *
+ * Admission never waits on the network: {@link #tryAcquire} only touches the in-memory bucket.
+ * A background task pushes each bucket's admitted count to a shared Redis counter every
+ * {@code sync-interval} (one pipelined INCRBY + PEXPIRE per active bucket) and charges the bucket
+ * with what the other instances admitted in the meantime. If Redis is unavailable, instances keep
+ * enforcing their local buckets and retry the push on the next sync.
+ */
+public class GatewayRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayRateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, TokenBucket> buckets;
+    private final ScheduledExecutorService syncExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Counter syncFailures;
+
+    public GatewayRateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.syncFailures = meterRegistry.counter("gateway.ratelimit.sync.failures");
+        meterRegistry.gauge("gateway.ratelimit.buckets", buckets, cache -> cache.estimatedSize());
+
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-ratelimit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getSyncInterval().toMillis();
+        syncExecutor.scheduleWithFixedDelay(this::syncSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param subject caller identity, e.g. {@code user:<id>} or {@code ip:<address>}
+     * @return the admission decision; never blocks
+     */
+    public Decision tryAcquire(String routeId, String role, String subject) {
+        RateLimitProperties.Limit limit = properties.limitFor(routeId, role);
+        TokenBucket bucket = buckets.get(routeId + ":" + subject, key -> new TokenBucket(limit));
+        long waitNanos = bucket.tryConsume();
+
+        boolean allowed = waitNanos == 0;
+        meterRegistry.counter("gateway.ratelimit.requests",
+                "route", routeId, "role", role, "outcome", allowed ? "admitted" : "rejected").increment();
+        if (allowed) {
+            return new Decision(true, bucket.remaining(), 0);
+        }
+        long retryAfterSeconds = waitNanos == Long.MAX_VALUE
+                ? properties.getIdleTimeout().toSeconds()
+                : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        return new Decision(false, 0, retryAfterSeconds);
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Rate limit sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void sync() {
+        List<String> keys = new ArrayList<>();
+        List<TokenBucket> active = new ArrayList<>();
+        List<Long> pushed = new ArrayList<>();
+        for (Map.Entry<String, TokenBucket> entry : buckets.asMap().entrySet()) {
+            long consumed = entry.getValue().drainUnsynced();
+            if (consumed > 0) {
+                keys.add(properties.getRedisKeyPrefix() + entry.getKey());
+                active.add(entry.getValue());
+                pushed.add(consumed);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            long ttlMs = properties.getIdleTimeout().toMillis();
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (int i = 0; i < keys.size(); i++) {
+                        operations.opsForValue().increment(keys.get(i), pushed.get(i));
+                        operations.expire(keys.get(i), ttlMs, TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            syncFailures.increment();
+            for (int i = 0; i < active.size(); i++) {
+                active.get(i).restoreUnsynced(pushed.get(i));
+            }
+            log.debug("Rate limit counters not synced with Redis, enforcing locally: {}", e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < active.size(); i++) {
+            Object clusterCount = results.get(i * 2);
+            if (clusterCount instanceof Long count) {
+                active.get(i).applyClusterCount(count, pushed.get(i));
+            }
+        }
+    }
+
+    public void shutdown() {
+        syncExecutor.shutdown();
+    }
+
+    public record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.gateway.config.RateLimitProperties;
+
+/**
+ * Local token bucket that also tracks what it admitted since the last Redis sync.
+ *
+ * Every instance subtracts the consumption reported by the other instances from its own tokens,
+ * so each local bucket approximates the cluster-wide one; the error is bounded by what the other
+ * instances admit within one sync interval.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long unsyncedConsumed;
+    /** Last cluster-wide counter value seen in Redis; -1 before the first sync. */
+    private long lastClusterCount = -1;
+
+    TokenBucket(RateLimitProperties.Limit limit) {
+        this.capacity = limit.getCapacity();
+        this.refillPerNano = limit.getRefillPerSecond() / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    synchronized long tryConsume() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            unsyncedConsumed++;
+            return 0;
+        }
+        return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE;
+    }
+
+    synchronized long remaining() {
+        refill();
+        return (long) Math.floor(tokens);
+    }
+
+    /**
+     * Hands over the local consumption not yet pushed to Redis.
+     */
+    synchronized long drainUnsynced() {
+        long drained = unsyncedConsumed;
+        unsyncedConsumed = 0;
+        return drained;
+    }
+
+    /**
+     * Applies the cluster counter returned by Redis after adding {@code pushed} to it:
+     * whatever else it grew by was consumed on other instances.
+     */
+    synchronized void applyClusterCount(long clusterCount, long pushed) {
+        if (lastClusterCount >= 0 && clusterCount >= lastClusterCount) {
+            long consumedElsewhere = clusterCount - lastClusterCount - pushed;
+            if (consumedElsewhere > 0) {
+                refill();
+                // Allow a bounded debt so a burst elsewhere is not forgotten by the next refill
+                tokens = Math.max(-capacity, tokens - consumedElsewhere);
+            }
+        }
+        // First sync, or the Redis key expired and restarted: just take the new baseline
+        lastClusterCount = clusterCount;
+    }
+
+    /**
+     * Gives back consumption that could not be pushed, so it is retried on the next sync.
+     */
+    synchronized void restoreUnsynced(long count) {
+        unsyncedConsumed += count;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
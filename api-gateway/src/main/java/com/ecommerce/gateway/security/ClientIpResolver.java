@@ -0,0 +1,181 @@
+package com.ecommerce.gateway.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the originating client address of a request behind load balancers.
+ *
+ * Forwarding headers are only believed when the socket peer is a configured trusted proxy
+ * (address or CIDR). The hop list — from {@code Forwarded} ({@code for=}), else
+ * {@code X-Forwarded-For} — is then walked from the nearest hop outwards, skipping trusted
+ * proxies; the first untrusted hop is the client. Anything a client prepends to the headers sits
+ * beyond that point and is ignored, so the address cannot be spoofed to dodge per-IP limits.
+ */
+public class ClientIpResolver {
+
+    private static final String FORWARDED = "Forwarded";
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientIpResolver(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream().map(AddressRange::parse).toList();
+    }
+
+    public String resolve(ServerHttpRequest request) {
+        String peer = peerAddress(request);
+        if (peer == null || !isTrusted(peer)) {
+            return peer != null ? peer : "unknown";
+        }
+
+        List<String> hops = forwardedHops(request.getHeaders());
+        String client = peer;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            client = hops.get(i);
+            if (!isTrusted(client)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        // an obfuscated or "unknown" hop is not an IP literal, so never a trusted proxy
+        byte[] bytes = literalBytes(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Address bytes of an IPv4/IPv6 literal, or null; never triggers a DNS lookup.
+     */
+    private static byte[] literalBytes(String address) {
+        if (!IPV4_LITERAL.matcher(address).matches() && address.indexOf(':') < 0) {
+            return null;
+        }
+        try {
+            // a string with ':' is only ever parsed as an IPv6 literal
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static String peerAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+
+    /**
+     * Hop addresses, client first. RFC 7239 {@code Forwarded} takes precedence over X-Forwarded-For.
+     */
+    private static List<String> forwardedHops(HttpHeaders headers) {
+        List<String> hops = new ArrayList<>();
+        List<String> forwarded = headers.get(FORWARDED);
+        if (forwarded != null && !forwarded.isEmpty()) {
+            for (String header : forwarded) {
+                for (String element : header.split(",")) {
+                    for (String pair : element.split(";")) {
+                        int eq = pair.indexOf('=');
+                        if (eq > 0 && pair.substring(0, eq).trim().equalsIgnoreCase("for")) {
+                            String node = forwardedNode(pair.substring(eq + 1).trim());
+                            if (!node.isEmpty()) {
+                                hops.add(node);
+                            }
+                        }
+                    }
+                }
+            }
+            return hops;
+        }
+        List<String> xForwardedFor = headers.get(X_FORWARDED_FOR);
+        if (xForwardedFor != null) {
+            for (String header : xForwardedFor) {
+                for (String hop : header.split(",")) {
+                    if (!hop.isBlank()) {
+                        hops.add(hop.trim());
+                    }
+                }
+            }
+        }
+        return hops;
+    }
+
+    /**
+     * Strips quotes, IPv6 brackets and the port from a {@code Forwarded} node:
+     * {@code "[2001:db8::1]:4711"} → {@code 2001:db8::1}, {@code 192.0.2.60:80} → {@code 192.0.2.60}.
+     */
+    private static String forwardedNode(String node) {
+        String value = node.startsWith("\"") && node.endsWith("\"") && node.length() > 1
+                ? node.substring(1, node.length() - 1)
+                : node;
+        if (value.startsWith("[")) {
+            int end = value.indexOf(']');
+            return end > 0 ? value.substring(1, end) : value;
+        }
+        int colon = value.indexOf(':');
+        return colon > 0 && value.indexOf(':', colon + 1) < 0 ? value.substring(0, colon) : value;
+    }
+
+    /**
+     * A single address or CIDR block, e.g. {@code 10.0.0.0/8} or {@code fd00::/8}.
+     */
+    private record AddressRange(byte[] network, int prefixBits) {
+
+        static AddressRange parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr : cidr.substring(0, slash);
+            byte[] network = literalBytes(address.trim());
+            if (network == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR: " + cidr);
+            }
+            int prefixBits = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1).trim());
+            if (prefixBits < 0 || prefixBits > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+            }
+            return new AddressRange(network, prefixBits);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixBits / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixBits % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
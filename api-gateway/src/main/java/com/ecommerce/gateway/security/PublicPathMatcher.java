@@ -0,0 +1,89 @@
+package com.ecommerce.gateway.security;
+
+import com.ecommerce.gateway.config.GatewaySecurityProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "is this request public?" against patterns compiled once at startup.
+ *
+ * Patterns are bucketed by their first literal path segment ({@code api}, {@code actuator}, ...),
+ * so a request is only checked against the few patterns that can possibly match it. Matching runs
+ * on the request's already-parsed {@link PathContainer}: no pattern or path string is parsed per
+ * request. Patterns whose first segment is not a literal go in a bucket checked for every request.
+ */
+public class PublicPathMatcher {
+
+    private final Map<String, List<Rule>> rulesByFirstSegment;
+    private final List<Rule> unbucketedRules;
+
+    public PublicPathMatcher(GatewaySecurityProperties properties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        Map<String, List<Rule>> buckets = new HashMap<>();
+        List<Rule> unbucketed = new ArrayList<>();
+
+        List<Rule> rules = new ArrayList<>();
+        properties.getPublicPaths().forEach(path -> rules.add(new Rule(parser.parse(path), null)));
+        properties.getPublicEndpoints().forEach(endpoint -> rules.add(new Rule(
+                parser.parse(endpoint.getPath()),
+                endpoint.getMethods().stream().map(HttpMethod::valueOf).collect(Collectors.toUnmodifiableSet()))));
+
+        for (Rule rule : rules) {
+            String firstSegment = literalFirstSegment(rule.pattern().getPatternString());
+            if (firstSegment != null) {
+                buckets.computeIfAbsent(firstSegment, segment -> new ArrayList<>()).add(rule);
+            } else {
+                unbucketed.add(rule);
+            }
+        }
+        this.rulesByFirstSegment = Map.copyOf(buckets);
+        this.unbucketedRules = List.copyOf(unbucketed);
+    }
+
+    public boolean isPublic(PathContainer path, HttpMethod method) {
+        List<PathContainer.Element> elements = path.elements();
+        // elements: [separator, segment, separator, segment, ...] for an absolute path
+        if (elements.size() > 1 && elements.get(1) instanceof PathContainer.PathSegment segment) {
+            List<Rule> bucket = rulesByFirstSegment.get(segment.valueToMatch());
+            if (bucket != null && matchesAny(bucket, path, method)) {
+                return true;
+            }
+        }
+        return matchesAny(unbucketedRules, path, method);
+    }
+
+    private static boolean matchesAny(List<Rule> rules, PathContainer path, HttpMethod method) {
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            if ((rule.methods() == null || rule.methods().contains(method)) && rule.pattern().matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String literalFirstSegment(String pattern) {
+        if (!pattern.startsWith("/")) {
+            return null;
+        }
+        int end = pattern.indexOf('/', 1);
+        String segment = end < 0 ? pattern.substring(1) : pattern.substring(1, end);
+        boolean literal = !segment.isEmpty() && segment.chars().noneMatch(c -> c == '*' || c == '?' || c == '{');
+        return literal ? segment : null;
+    }
+
+    /**
+     * @param methods allowed methods, or null for any method
+     */
+    private record Rule(PathPattern pattern, Set<HttpMethod> methods) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.common.cache.CompactRedisSerializer;
+import com.ecommerce.common.dto.InventoryResponse;
+import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.dto.UserResponse;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompactRedisSerializer against the JSON serializer with default typing it replaced, for the
+ * three cached value types. Stored sizes are printed once per fork at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"product", "product-long-description", "user", "inventory"})
+    public String valueType;
+
+    private Object value;
+    private RedisSerializer<Object> compact;
+    private RedisSerializer<Object> legacyJson;
+    private byte[] compactBytes;
+    private byte[] legacyJsonBytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        value = switch (valueType) {
+            case "product" -> product("Ergonomic wireless keyboard with backlit keys.");
+            case "product-long-description" -> product("Ergonomic wireless keyboard with backlit keys. ".repeat(40));
+            case "user" -> UserResponse.builder()
+                    .id(UUID.randomUUID()).firstName("Ada").lastName("Lovelace")
+                    .email("ada@example.com").role("USER").createdAt(LocalDateTime.now())
+                    .build();
+            case "inventory" -> InventoryResponse.builder()
+                    .id(UUID.randomUUID()).productId(UUID.randomUUID())
+                    .availableQuantity(120).reservedQuantity(8).updatedAt(LocalDateTime.now())
+                    .build();
+            default -> throw new IllegalArgumentException(valueType);
+        };
+        compact = (RedisSerializer<Object>) new CompactRedisSerializer<>(value.getClass());
+        legacyJson = legacyJsonSerializer();
+
+        compactBytes = compact.serialize(value);
+        legacyJsonBytes = legacyJson.serialize(value);
+        System.out.printf("%n%s: compact=%d bytes, legacy json=%d bytes%n",
+                valueType, compactBytes.length, legacyJsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize() {
+        return compact.serialize(value);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return compact.deserialize(compactBytes);
+    }
+
+    @Benchmark
+    public byte[] legacyJsonSerialize() {
+        return legacyJson.serialize(value);
+    }
+
+    @Benchmark
+    public Object legacyJsonDeserialize() {
+        return legacyJson.deserialize(legacyJsonBytes);
+    }
+
+    private static ProductResponse product(String description) {
+        return ProductResponse.builder()
+                .id("65f1c0ffee0000000000abcd")
+                .name("Ergonomic wireless keyboard")
+                .description(description)
+                .price(new BigDecimal("89.99"))
+                .sku("KB-ERGO-001")
+                .categoryName("Electronics")
+                .imageUrl("https://cdn.example.com/products/kb-ergo-001.png")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /** The value serializer RedisCacheConfig used before the compact format. */
+    private static GenericJackson2JsonRedisSerializer legacyJsonSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+}
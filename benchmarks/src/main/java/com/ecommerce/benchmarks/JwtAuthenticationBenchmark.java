@@ -0,0 +1,119 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.gateway.config.GatewaySecurityProperties;
+import com.ecommerce.gateway.filter.JwtAuthenticationFilter;
+import com.ecommerce.gateway.security.PublicPathMatcher;
+import com.ecommerce.gateway.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway authentication cost per request.
+ *
+ * - fourParses: the previous filter's isTokenValid + getUserId + getEmail + getRole, each
+ *   building a parser and verifying the signature
+ * - singleParse: one parse and verification with the shared parser
+ * - cachedVerify: VerifiedTokenCache hit for a reused token
+ * - filter: the whole JwtAuthenticationFilter on a protected route, cache warm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    // shared, as in a running server; MockServerWebExchange would create these per request
+    private final ServerCodecConfigurer codecConfigurer = ServerCodecConfigurer.create();
+    private final DefaultWebSessionManager sessionManager = new DefaultWebSessionManager();
+    private final AcceptHeaderLocaleContextResolver localeResolver = new AcceptHeaderLocaleContextResolver();
+
+    private SecretKey key;
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, Duration.ofHours(1).toMillis());
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(verifiedTokenCache,
+                new PublicPathMatcher(new GatewaySecurityProperties()));
+        token = jwtUtil.generateToken(UUID.randomUUID(), "ada@example.com", "USER");
+        verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public void fourParses(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token) != null);
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("email", String.class));
+        blackhole.consume(legacyParse(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public VerifiedTokenCache.VerifiedToken cachedVerify() {
+        return verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public Object filter() {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/api/orders/42")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        ServerWebExchange exchange = new DefaultServerWebExchange(
+                request, new MockServerHttpResponse(), sessionManager, codecConfigurer, localeResolver);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    /** JwtUtil.validateToken as it was: a new parser per call. */
+    private Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
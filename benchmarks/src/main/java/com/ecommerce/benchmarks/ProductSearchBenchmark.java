@@ -0,0 +1,106 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * ProductSearchIndex against the case-insensitive unanchored $regex scan it replaced.
+ *
+ * The regex side runs the same per-document predicate Mongo evaluates for
+ * {@code {name: {$regex: q, $options: 'i'}}} without a usable index — compile once per query,
+ * test every document, sort and page — but in-process, so it is a lower bound for the old query
+ * (no network, no BSON decoding).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {
+            "wireless", "ergonomic", "compact", "premium", "portable", "smart", "classic", "rugged"};
+    private static final String[] NOUNS = {
+            "keyboard", "mouse", "headphones", "monitor", "speaker", "charger", "backpack", "lamp"};
+    private static final String[] CATEGORIES = {
+            "Electronics", "Accessories", "Audio", "Office", "Outdoor", "Home"};
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"wireless", "wireless keyboard", "zzz"})
+    public String query;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.by("name"));
+
+    private ProductSearchIndex index;
+    private List<Product> documents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        documents = new ArrayList<>(catalogSize);
+        index = new ProductSearchIndex(null, new ProductMapper());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = Product.builder()
+                    .id(Integer.toString(i))
+                    .name(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                            + NOUNS[random.nextInt(NOUNS.length)] + " " + i)
+                    .price(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                    .sku("SKU-" + i)
+                    .category(Category.builder().name(CATEGORIES[random.nextInt(CATEGORIES.length)]).build())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            documents.add(product);
+            index.index(product);
+        }
+    }
+
+    @Benchmark
+    public Page<ProductResponse> invertedIndex() {
+        return index.search(query, null, pageable);
+    }
+
+    @Benchmark
+    public List<Product> regexScan() {
+        Pattern pattern = Pattern.compile(query, Pattern.CASE_INSENSITIVE);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : documents) {
+            if (pattern.matcher(product.getName()).find()) {
+                matches.add(product);
+            }
+        }
+        matches.sort(Comparator.comparing(Product::getName));
+        return matches.subList(0, Math.min(pageable.getPageSize(), matches.size()));
+    }
+}
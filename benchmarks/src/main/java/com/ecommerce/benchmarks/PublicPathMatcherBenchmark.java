@@ -0,0 +1,89 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.gateway.config.GatewaySecurityProperties;
+import com.ecommerce.gateway.security.PublicPathMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PublicPathMatcher against the AntPathMatcher loop the filter used before. Run with
+ * {@code -prof gc} to compare per-request allocations ({@code gc.alloc.rate.norm}).
+ *
+ * The request path is parsed once in setup, as the server does before filters run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicPathMatcherBenchmark {
+
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/api/auth/**",
+            "/actuator/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/api-docs/**",
+            "/v3/api-docs/**",
+            "/webjars/**"
+    );
+
+    private static final List<String> PUBLIC_GET_PATHS = List.of("/api/products", "/api/products/**");
+
+    @Param({"GET /api/orders/42", "GET /api/products/abc123", "POST /api/auth/login"})
+    public String request;
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private PublicPathMatcher publicPathMatcher;
+    private HttpMethod method;
+    private String path;
+    private PathContainer pathContainer;
+
+    @Setup
+    public void setUp() {
+        publicPathMatcher = new PublicPathMatcher(new GatewaySecurityProperties());
+        String[] parts = request.split(" ", 2);
+        method = HttpMethod.valueOf(parts[0]);
+        path = parts[1];
+        pathContainer = RequestPath.parse(path, null).pathWithinApplication();
+    }
+
+    @Benchmark
+    public boolean precompiled() {
+        return publicPathMatcher.isPublic(pathContainer, method);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherLoop() {
+        for (String pattern : PUBLIC_PATHS) {
+            if (antPathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        if (method == HttpMethod.GET) {
+            for (String pattern : PUBLIC_GET_PATHS) {
+                if (antPathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
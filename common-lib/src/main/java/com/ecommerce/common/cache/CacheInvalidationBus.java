@@ -0,0 +1,80 @@
+package com.ecommerce.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub channel used to keep the in-process L1 caches of all replicas coherent.
+ *
+ * Every L2 write or eviction publishes "instanceId|cacheName|E|key" (or "instanceId|cacheName|C"
+ * for a clear). Receivers drop the matching L1 entries; messages from this instance are ignored.
+ * Publishing is best-effort: a failure only widens the staleness window up to the L1 TTL.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile InvalidationHandler handler;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void setHandler(InvalidationHandler handler) {
+        this.handler = handler;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(instanceId + SEPARATOR + cacheName + SEPARATOR + EVICT + SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(instanceId + SEPARATOR + cacheName + SEPARATOR + CLEAR);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("Failed to publish L1 cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || parts[0].equals(instanceId) || handler == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            handler.invalidate(parts[1], null);
+        } else if (EVICT.equals(parts[2]) && parts.length == 4) {
+            handler.invalidate(parts[1], parts[3]);
+        }
+    }
+
+    @FunctionalInterface
+    interface InvalidationHandler {
+
+        /**
+         * Drops a single L1 entry, or the whole L1 cache when {@code key} is null.
+         */
+        void invalidate(String cacheName, String key);
+    }
+}
@@ -12,5 +12,14 @@ public final class CacheNames {
     public static final String PRODUCTS = "products";
     public static final String PRODUCT_BY_ID = "productById";
     public static final String USER_BY_ID = "userById";
+    public static final String USER_SUMMARY_BY_ID = "userSummaryById";
+    public static final String USER_CREDENTIALS_BY_EMAIL = "userCredentialsByEmail";
     public static final String INVENTORY_BY_PRODUCT = "inventoryByProduct";
+
+    /**
+     * Redis pub/sub channel on which product-service announces catalog changes (a product id, or
+     * {@link #ALL_PRODUCTS} for bulk changes) so caches outside it, e.g. the gateway's, can drop entries.
+     */
+    public static final String PRODUCT_CHANGES_CHANNEL = "catalog:product-changes";
+    public static final String ALL_PRODUCTS = "*";
 }
@@ -0,0 +1,44 @@
+package com.ecommerce.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for cache stampede protection, applied to {@code @Cacheable(sync = true)} lookups.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ecommerce.cache.stampede")
+public class CacheStampedeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * XFetch beta for probabilistic early refresh; larger values refresh earlier, 0 disables refresh-ahead.
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /** Threads running refresh-ahead loads in the background. */
+    private int refreshThreads = 2;
+
+    private DistributedLock distributedLock = new DistributedLock();
+
+    @Getter
+    @Setter
+    public static class DistributedLock {
+
+        /** Also elect a single loader across replicas through a Redis SET NX lock. */
+        private boolean enabled = false;
+
+        /** Lock lease; must exceed the slowest expected load. */
+        private Duration lease = Duration.ofSeconds(5);
+
+        /** How long a replica that lost the lock waits for the winner's value before loading itself. */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        private Duration pollInterval = Duration.ofMillis(50);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.common.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Typed Redis value serializer: one instance per cache value type, binary Smile encoding with no
+ * embedded class names, and Deflate compression for payloads above a size threshold.
+ *
+ * Layout: 1 format byte, then either the Smile payload, or the uncompressed length (int) followed
+ * by the deflated Smile payload. Values without a known format byte — e.g. JSON entries written by
+ * the previous serializer — read as a cache miss and are simply repopulated.
+ */
+public class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+    private static final byte FORMAT_SMILE = 1;
+    private static final byte FORMAT_SMILE_DEFLATE = 2;
+
+    private static final ObjectMapper MAPPER = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final int compressionThreshold;
+
+    public CompactRedisSerializer(Class<T> type) {
+        this(type, DEFAULT_COMPRESSION_THRESHOLD);
+    }
+
+    public CompactRedisSerializer(Class<T> type, int compressionThreshold) {
+        this.reader = MAPPER.readerFor(type);
+        this.writer = MAPPER.writerFor(type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value: " + e.getMessage(), e);
+        }
+
+        if (payload.length >= compressionThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(1 + Integer.BYTES + compressed.length)
+                        .put(FORMAT_SMILE_DEFLATE)
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+        return ByteBuffer.allocate(1 + payload.length)
+                .put(FORMAT_SMILE)
+                .put(payload)
+                .array();
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return switch (bytes[0]) {
+                case FORMAT_SMILE -> reader.readValue(bytes, 1, bytes.length - 1);
+                case FORMAT_SMILE_DEFLATE -> {
+                    int length = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+                    byte[] payload = inflate(bytes, 1 + Integer.BYTES, length);
+                    yield reader.readValue(payload);
+                }
+                default -> null;
+            };
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset, int uncompressedLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, input.length - offset);
+            byte[] output = new byte[uncompressedLength];
+            int read = 0;
+            while (read < uncompressedLength && !inflater.finished()) {
+                int n = inflater.inflate(output, read, uncompressedLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed cache value");
+                }
+                read += n;
+            }
+            return output;
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.common.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * A cache that can store a value just loaded from the source of truth without announcing it.
+ *
+ * {@link Cache#put} is an explicit write: other replicas drop their local copy of the key. A fill
+ * after a miss (or a refresh-ahead reload) stores what the database already holds, so announcing it
+ * would only evict correct entries elsewhere; a changed value is announced by its writer's evict.
+ */
+public interface FillableCache extends Cache {
+
+    void fill(Object key, Object value);
+
+    /**
+     * Fills {@code cache} if it supports it, otherwise falls back to a plain put.
+     */
+    static void fill(Cache cache, Object key, Object value) {
+        if (cache instanceof FillableCache fillable) {
+            fillable.fill(key, value);
+        } else {
+            cache.put(key, value);
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.ecommerce.common.cache;
 
+import com.ecommerce.common.dto.InventoryResponse;
+import com.ecommerce.common.dto.ProductCursorPage;
+import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.dto.UserResponse;
+import com.ecommerce.common.dto.UserSummaryResponse;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -18,47 +30,133 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Redis cache configuration with per-cache TTLs and JSON serialization.
+ * Redis cache configuration with per-cache TTLs and typed, compact value serialization
+ * ({@link CompactRedisSerializer}) for every known cache.
  *
  * TTL strategy:
  * - Products: 30min (rarely change, high read frequency)
  * - Users: 15min (moderate change rate)
  * - Inventory: 5min (frequently changes, needs short TTL)
+ *
+ * Backs off when the two-level cache is enabled; {@link TwoLevelCacheAutoConfiguration} then
+ * reuses the same Redis settings as its L2.
+ *
+ * Caches are wrapped with stampede protection (see {@link StampedeProtectedCache}) for
+ * {@code @Cacheable(sync = true)} lookups unless {@code ecommerce.cache.stampede.enabled=false}.
  */
 @AutoConfiguration
 @ConditionalOnClass(RedisCacheManager.class)
 @EnableCaching
+@EnableConfigurationProperties(CacheStampedeProperties.class)
 public class RedisCacheConfig {
 
+    public static final Duration PRODUCT_TTL = Duration.ofMinutes(30);
+    public static final Duration USER_TTL = Duration.ofMinutes(15);
+    public static final Duration INVENTORY_TTL = Duration.ofMinutes(5);
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    @ConditionalOnProperty(prefix = "ecommerce.cache.two-level", name = "enabled",
+            havingValue = "false", matchIfMissing = true)
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     CacheStampedeProperties stampedeProperties,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        RedisCacheManager redisCacheManager = redisCacheManagerBuilder(connectionFactory)
+                .transactionAware()
+                .build();
+        redisCacheManager.initializeCaches();
+        return withStampedeProtection(redisCacheManager, stringRedisTemplate, stampedeProperties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Wraps the given manager's caches with single-flight loading and refresh-ahead, unless disabled.
+     */
+    static CacheManager withStampedeProtection(CacheManager cacheManager,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               CacheStampedeProperties properties,
+                                               MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return cacheManager;
+        }
+        ExecutorService refreshExecutor = new ThreadPoolExecutor(
+                properties.getRefreshThreads(), properties.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(1_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-ahead");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A dropped refresh just means the key expires normally and single-flight takes over
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        RedisCacheConfiguration defaultConfig = defaultCacheConfiguration();
+        return new StampedeProtectedCacheManager(cacheManager, cacheConfigurations(defaultConfig), defaultConfig,
+                stringRedisTemplate, properties, refreshExecutor, meterRegistry);
+    }
+
+    static RedisCacheManager.RedisCacheManagerBuilder redisCacheManagerBuilder(
+            RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaultConfig = defaultCacheConfiguration();
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultConfig)
+                .withInitialCacheConfigurations(cacheConfigurations(defaultConfig));
+    }
+
+    /**
+     * Fallback for caches without a registered value type: JSON with embedded type ids, restricted
+     * to platform and com.ecommerce types instead of accepting any class.
+     */
+    private static RedisCacheConfiguration defaultCacheConfiguration() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.ecommerce.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.time.")
+                        .allowIfSubType("java.math.")
+                        .allowIfSubType("java.lang.")
+                        .build(),
                 ObjectMapper.DefaultTyping.NON_FINAL,
                 JsonTypeInfo.As.PROPERTY);
 
         GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(mapper);
 
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
+        return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(15))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
                 .disableCachingNullValues();
+    }
 
+    /**
+     * Known caches store a single value type each, so they use a dedicated compact serializer.
+     */
+    private static Map<String, RedisCacheConfiguration> cacheConfigurations(RedisCacheConfiguration defaultConfig) {
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cacheConfigurations.put(CacheNames.PRODUCTS, defaultConfig.entryTtl(Duration.ofMinutes(30)));
-        cacheConfigurations.put(CacheNames.PRODUCT_BY_ID, defaultConfig.entryTtl(Duration.ofMinutes(30)));
-        cacheConfigurations.put(CacheNames.USER_BY_ID, defaultConfig.entryTtl(Duration.ofMinutes(15)));
-        cacheConfigurations.put(CacheNames.INVENTORY_BY_PRODUCT, defaultConfig.entryTtl(Duration.ofMinutes(5)));
+        cacheConfigurations.put(CacheNames.PRODUCTS,
+                typed(defaultConfig, ProductCursorPage.class).entryTtl(PRODUCT_TTL));
+        cacheConfigurations.put(CacheNames.PRODUCT_BY_ID,
+                typed(defaultConfig, ProductResponse.class).entryTtl(PRODUCT_TTL));
+        cacheConfigurations.put(CacheNames.USER_BY_ID,
+                typed(defaultConfig, UserResponse.class).entryTtl(USER_TTL));
+        cacheConfigurations.put(CacheNames.USER_SUMMARY_BY_ID,
+                typed(defaultConfig, UserSummaryResponse.class).entryTtl(USER_TTL));
+        cacheConfigurations.put(CacheNames.INVENTORY_BY_PRODUCT,
+                typed(defaultConfig, InventoryResponse.class).entryTtl(INVENTORY_TTL));
+        return cacheConfigurations;
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
-                .build();
+    private static RedisCacheConfiguration typed(RedisCacheConfiguration config, Class<?> valueType) {
+        return config.serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(new CompactRedisSerializer<>(valueType)));
     }
 }
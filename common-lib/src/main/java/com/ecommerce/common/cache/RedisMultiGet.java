@@ -0,0 +1,134 @@
+package com.ecommerce.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Batch read-through over one Redis-backed cache: a single MGET for all keys, one loader call for
+ * the misses, and one pipelined write-back — instead of a round trip per key through {@code Cache.get}.
+ *
+ * Entries are addressed and encoded exactly as the cache manager does ("cacheName::key",
+ * {@link CompactRedisSerializer}), so values are shared with {@code @Cacheable} lookups on the same
+ * cache and {@code @CacheEvict} removes them. Reads go to Redis directly; with the two-level cache
+ * enabled the L1 is neither consulted nor populated.
+ *
+ * Redis failures degrade to loading every key from the source.
+ */
+@Slf4j
+public class RedisMultiGet<K, V> {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String cacheName;
+    private final CompactRedisSerializer<V> serializer;
+    private final Expiration expiration;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RedisMultiGet(StringRedisTemplate redisTemplate, String cacheName, Class<V> valueType,
+                         Duration ttl, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.cacheName = cacheName;
+        this.serializer = new CompactRedisSerializer<>(valueType);
+        this.expiration = Expiration.from(ttl);
+        this.hits = meterRegistry.counter("cache.multiget.keys", "cache", cacheName, "outcome", "hit");
+        this.misses = meterRegistry.counter("cache.multiget.keys", "cache", cacheName, "outcome", "miss");
+    }
+
+    /**
+     * Returns the values for the given keys, in request order; keys the loader cannot resolve are absent.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, V> found = new LinkedHashMap<>();
+        if (distinctKeys.isEmpty()) {
+            return found;
+        }
+
+        List<byte[]> cached = readAll(distinctKeys);
+        Set<K> missing = new LinkedHashSet<>();
+        for (int i = 0; i < distinctKeys.size(); i++) {
+            V value = cached != null ? decode(cached.get(i)) : null;
+            if (value != null) {
+                found.put(distinctKeys.get(i), value);
+            } else {
+                missing.add(distinctKeys.get(i));
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loader.apply(missing);
+            writeAll(loaded);
+            found.putAll(loaded);
+        }
+
+        Map<K, V> ordered = new LinkedHashMap<>();
+        for (K key : distinctKeys) {
+            V value = found.get(key);
+            if (value != null) {
+                ordered.put(key, value);
+            }
+        }
+        return ordered;
+    }
+
+    private List<byte[]> readAll(List<K> keys) {
+        byte[][] rawKeys = keys.stream().map(this::rawKey).toArray(byte[][]::new);
+        try {
+            return redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.stringCommands().mGet(rawKeys));
+        } catch (RuntimeException e) {
+            log.warn("Multi-get on cache {} failed, loading all {} keys: {}", cacheName, keys.size(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeAll(Map<K, V> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                RedisStringCommands commands = connection.stringCommands();
+                values.forEach((key, value) -> commands.set(rawKey(key), serializer.serialize(value),
+                        expiration, RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Write-back to cache {} failed: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private V decode(byte[] bytes) {
+        try {
+            return serializer.deserialize(bytes);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same layout as RedisCache's default CacheKeyPrefix ("cacheName::key").
+     */
+    private byte[] rawKey(K key) {
+        return (cacheName + "::" + key).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,287 @@
+package com.ecommerce.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache decorator that flattens backend load when hot keys expire.
+ *
+ * - Single flight: concurrent misses for the same key on this instance share one loader call.
+ * - Distributed lock (optional): across replicas, only the holder of a short Redis lock loads;
+ *   the others poll the cache briefly for its value and load themselves only if it never appears.
+ * - Refresh-ahead: on a hit, XFetch ({@code now - delta * beta * ln(rand) >= expiry}) decides
+ *   probabilistically to reload the key in the background before it expires, so the TTL rollover
+ *   is spread out instead of hitting every caller at once. Expiry is learned from this instance's
+ *   own writes or a one-off PTTL read; delta is this cache's average load time.
+ *
+ * Only {@link #get(Object, Callable)} — used by {@code @Cacheable(sync = true)} — is protected;
+ * every other operation passes straight through.
+ */
+@Slf4j
+public class StampedeProtectedCache implements FillableCache {
+
+    private static final DefaultRedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final double LOAD_TIME_SMOOTHING = 0.2;
+
+    private final Cache delegate;
+    private final Duration ttl;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheStampedeProperties properties;
+    private final Executor refreshExecutor;
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> expiresAtMillis;
+    private volatile double averageLoadMillis = 0;
+
+    private final Counter leaderLoads;
+    private final Counter coalescedLoads;
+    private final Counter lockWaitHits;
+    private final Counter earlyRefreshes;
+    private final Timer loadTimer;
+
+    public StampedeProtectedCache(Cache delegate, Duration ttl, StringRedisTemplate redisTemplate,
+                                  CacheStampedeProperties properties, Executor refreshExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.expiresAtMillis = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(ttl.isZero() || ttl.isNegative() ? Duration.ofHours(1) : ttl)
+                .build();
+
+        String name = delegate.getName();
+        this.leaderLoads = meterRegistry.counter("cache.stampede.loads", "cache", name, "outcome", "leader");
+        this.coalescedLoads = meterRegistry.counter("cache.stampede.loads", "cache", name, "outcome", "coalesced");
+        this.lockWaitHits = meterRegistry.counter("cache.stampede.loads", "cache", name, "outcome", "lock_wait_hit");
+        this.earlyRefreshes = meterRegistry.counter("cache.stampede.early_refreshes", "cache", name);
+        this.loadTimer = meterRegistry.timer("cache.stampede.load", "cache", name);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            if (shouldRefreshEarly(key)) {
+                earlyRefreshes.increment();
+                refreshExecutor.execute(() -> {
+                    try {
+                        loadOnce(key, valueLoader);
+                    } catch (RuntimeException e) {
+                        log.warn("Refresh-ahead failed for cache {} key {}: {}", getName(), key, e.getMessage());
+                    }
+                });
+            }
+            return (T) cached.get();
+        }
+        return (T) loadOnce(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        recordWrite(key);
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        FillableCache.fill(delegate, key, value);
+        recordWrite(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        expiresAtMillis.invalidate(key.toString());
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        expiresAtMillis.invalidateAll();
+    }
+
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedLoads.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        try {
+            Object value = properties.getDistributedLock().isEnabled()
+                    ? loadUnderDistributedLock(key, valueLoader)
+                    : loadAndStore(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object loadUnderDistributedLock(Object key, Callable<?> valueLoader) {
+        CacheStampedeProperties.DistributedLock settings = properties.getDistributedLock();
+        String lockKey = "lock:" + redisKey(key);
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, settings.getLease());
+        } catch (RuntimeException e) {
+            log.warn("Cache lock unavailable for {}, loading without it: {}", lockKey, e.getMessage());
+            return loadAndStore(key, valueLoader);
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loadAndStore(key, valueLoader);
+            } finally {
+                releaseLock(lockKey, token);
+            }
+        }
+
+        // Another replica is loading: wait for its value rather than hitting the backend again
+        long deadline = System.nanoTime() + settings.getMaxWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(settings.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ValueWrapper cached = delegate.get(key);
+            if (cached != null) {
+                lockWaitHits.increment();
+                return cached.get();
+            }
+        }
+        return loadAndStore(key, valueLoader);
+    }
+
+    private Object loadAndStore(Object key, Callable<?> valueLoader) {
+        leaderLoads.increment();
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long elapsed = System.nanoTime() - start;
+        loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        averageLoadMillis += LOAD_TIME_SMOOTHING * (elapsed / 1_000_000.0 - averageLoadMillis);
+
+        if (value != null) {
+            fill(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * XFetch: refresh with a probability that rises as expiry approaches, scaled by load time.
+     */
+    private boolean shouldRefreshEarly(Object key) {
+        double beta = properties.getEarlyRefreshBeta();
+        if (beta <= 0 || inFlight.containsKey(key)) {
+            return false;
+        }
+        Long expiresAt = expiresAt(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        double gap = -Math.max(averageLoadMillis, 1.0) * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+
+    private Long expiresAt(Object key) {
+        String localKey = key.toString();
+        Long expiresAt = expiresAtMillis.getIfPresent(localKey);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            return expiresAt;
+        }
+        // Written by another replica (or our record is stale): learn the real expiry once
+        try {
+            Long remaining = redisTemplate.getExpire(redisKey(key), TimeUnit.MILLISECONDS);
+            // No TTL in Redis: remember "never refresh early" so hits do not keep asking
+            expiresAt = remaining == null || remaining < 0
+                    ? Long.MAX_VALUE
+                    : System.currentTimeMillis() + remaining;
+            expiresAtMillis.put(localKey, expiresAt);
+            return expiresAt;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void recordWrite(Object key) {
+        if (!ttl.isZero() && !ttl.isNegative()) {
+            expiresAtMillis.put(key.toString(), System.currentTimeMillis() + ttl.toMillis());
+        }
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            log.debug("Failed to release cache lock {}, it will expire: {}", lockKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Same layout as RedisCache's default CacheKeyPrefix ("cacheName::key").
+     */
+    private String redisKey(Object key) {
+        return getName() + "::" + key;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Wraps every cache of a Redis-backed cache manager (plain or two-level) in a
+ * {@link StampedeProtectedCache}. TTLs are taken from the same Redis cache configurations.
+ */
+public class StampedeProtectedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, RedisCacheConfiguration> redisConfigurations;
+    private final RedisCacheConfiguration defaultRedisConfiguration;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheStampedeProperties properties;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCacheManager(CacheManager delegate,
+                                         Map<String, RedisCacheConfiguration> redisConfigurations,
+                                         RedisCacheConfiguration defaultRedisConfiguration,
+                                         StringRedisTemplate redisTemplate,
+                                         CacheStampedeProperties properties,
+                                         Executor refreshExecutor,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.redisConfigurations = redisConfigurations;
+        this.defaultRedisConfiguration = defaultRedisConfiguration;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new StampedeProtectedCache(target, ttlOf(cacheName),
+                redisTemplate, properties, refreshExecutor, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Duration ttlOf(String cacheName) {
+        RedisCacheConfiguration configuration = redisConfigurations.getOrDefault(cacheName, defaultRedisConfiguration);
+        return configuration.getTtlFunction().getTimeToLive(Object.class, null);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecommerce.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache facade reading through a bounded in-process Caffeine L1 before falling back to Redis (L2).
+ *
+ * L1 is keyed by the key's string form — the same form RedisCache uses for its Redis keys — so an
+ * invalidation received from another replica can address the entry without the original key object.
+ * Writes and evictions go to L2 first, then L1, then are broadcast to the other replicas. Fills
+ * after a miss ({@link #fill}, also used by {@link #get(Object, Callable)}) are not broadcast.
+ */
+public class TwoLevelCache implements FillableCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> level1;
+    private final Cache level2;
+    private final CacheInvalidationBus invalidationBus;
+    private final TwoLevelCacheMetrics metrics;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> level1,
+                         Cache level2,
+                         CacheInvalidationBus invalidationBus,
+                         TwoLevelCacheMetrics metrics) {
+        this.name = name;
+        this.level1 = level1;
+        this.level2 = level2;
+        this.invalidationBus = invalidationBus;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return level1;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = key.toString();
+
+        long start = System.nanoTime();
+        Object local = level1.getIfPresent(localKey);
+        metrics.recordGet(name, TwoLevelCacheMetrics.LEVEL_1, local != null, start);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+
+        start = System.nanoTime();
+        ValueWrapper remote = level2.get(key);
+        metrics.recordGet(name, TwoLevelCacheMetrics.LEVEL_2, remote != null, start);
+        if (remote != null && remote.get() != null) {
+            level1.put(localKey, remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        fill(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value);
+        invalidationBus.publishEvict(name, key.toString());
+    }
+
+    @Override
+    public void fill(Object key, Object value) {
+        store(key, value);
+    }
+
+    private void store(Object key, Object value) {
+        String localKey = key.toString();
+        level2.put(key, value);
+        if (value != null) {
+            level1.put(localKey, value);
+        } else {
+            level1.invalidate(localKey);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = key.toString();
+        level2.evict(key);
+        level1.invalidate(localKey);
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        level2.clear();
+        level1.invalidateAll();
+        invalidationBus.publishClear(name);
+    }
+
+    long localSize() {
+        return level1.estimatedSize();
+    }
+
+    void invalidateLocal(String key) {
+        if (key == null) {
+            level1.invalidateAll();
+        } else {
+            level1.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Opt-in two-level cache: Caffeine in-process L1 in front of Redis L2, kept coherent across
+ * replicas through Redis pub/sub. Enabled per service with {@code ecommerce.cache.two-level.enabled=true};
+ * existing @Cacheable/@CacheEvict usages need no changes.
+ */
+@AutoConfiguration
+@ConditionalOnClass({RedisCacheManager.class, Caffeine.class, MeterRegistry.class})
+@ConditionalOnProperty(prefix = "ecommerce.cache.two-level", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({TwoLevelCacheProperties.class, CacheStampedeProperties.class})
+@EnableCaching
+public class TwoLevelCacheAutoConfiguration {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                     TwoLevelCacheProperties properties) {
+        return new CacheInvalidationBus(stringRedisTemplate, properties.getInvalidationChannel());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     TwoLevelCacheProperties properties,
+                                     CacheStampedeProperties stampedeProperties,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+        // L2 is not transaction-aware itself; the composite manager defers puts/evicts as a whole
+        RedisCacheManager level2Manager = RedisCacheConfig.redisCacheManagerBuilder(connectionFactory).build();
+        level2Manager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(level2Manager, properties,
+                cacheInvalidationBus, new TwoLevelCacheMetrics(registry));
+        cacheManager.setTransactionAware(true);
+        cacheManager.initializeCaches();
+        return RedisCacheConfig.withStampedeProtection(cacheManager, stringRedisTemplate, stampedeProperties, registry);
+    }
+}
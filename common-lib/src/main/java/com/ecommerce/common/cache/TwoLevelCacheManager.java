@@ -0,0 +1,69 @@
+package com.ecommerce.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composite cache manager: every cache is a {@link TwoLevelCache} pairing a Caffeine L1, sized and
+ * expired per {@link TwoLevelCacheProperties}, with the Redis cache of the same name as L2.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager level2Manager;
+    private final TwoLevelCacheProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final TwoLevelCacheMetrics metrics;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager level2Manager,
+                                TwoLevelCacheProperties properties,
+                                CacheInvalidationBus invalidationBus,
+                                TwoLevelCacheMetrics metrics) {
+        this.level2Manager = level2Manager;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.metrics = metrics;
+        invalidationBus.setHandler(this::invalidateLocal);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return level2Manager.getCacheNames().stream()
+                .map(name -> createCache(name, level2Manager.getCache(name)))
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache level2 = level2Manager.getCache(name);
+        return level2 != null ? createCache(name, level2) : null;
+    }
+
+    private TwoLevelCache createCache(String name, Cache level2) {
+        TwoLevelCacheProperties.Level1 settings = properties.forCache(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> level1 = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtl())
+                .build();
+
+        TwoLevelCache cache = new TwoLevelCache(name, level1, level2, invalidationBus, metrics);
+        twoLevelCaches.put(name, cache);
+        metrics.getRegistry().gauge("cache.two-level.l1.size",
+                Tags.of("cache", name), cache, TwoLevelCache::localSize);
+        return cache;
+    }
+
+    private void invalidateLocal(String cacheName, String key) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+        }
+    }
+}
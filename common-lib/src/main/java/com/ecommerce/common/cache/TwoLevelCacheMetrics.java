@@ -0,0 +1,41 @@
+package com.ecommerce.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cache, per-level lookup metrics for the two-level cache.
+ *
+ * Publishes timer {@code cache.two-level.get} tagged with cache, level (l1/l2) and result (hit/miss):
+ * the count gives hit/miss rates per level, the distribution gives lookup latency.
+ */
+public class TwoLevelCacheMetrics {
+
+    static final String LEVEL_1 = "l1";
+    static final String LEVEL_2 = "l2";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    void recordGet(String cacheName, String level, boolean hit, long startNanos) {
+        String result = hit ? "hit" : "miss";
+        timers.computeIfAbsent(cacheName + ':' + level + ':' + result, id -> Timer.builder("cache.two-level.get")
+                        .tag("cache", cacheName)
+                        .tag("level", level)
+                        .tag("result", result)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.common.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for the two-level (Caffeine L1 + Redis L2) cache manager.
+ *
+ * The L1 TTL is deliberately much shorter than the Redis TTL: pub/sub invalidation keeps replicas
+ * coherent, and the short TTL bounds staleness if an invalidation message is ever lost.
+ *
+ * <pre>
+ * ecommerce.cache.two-level:
+ *   enabled: true
+ *   caches:
+ *     productById: { maximum-size: 20000, ttl: 2m }
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ecommerce.cache.two-level")
+public class TwoLevelCacheProperties {
+
+    private boolean enabled = false;
+
+    /** Redis pub/sub channel carrying L1 invalidations between replicas. */
+    private String invalidationChannel = "cache:l1-invalidation";
+
+    /** L1 settings for caches without an explicit entry. */
+    private Level1 defaults = new Level1();
+
+    /** Per-cache L1 overrides, keyed by cache name (see {@link CacheNames}). */
+    private Map<String, Level1> caches = new HashMap<>();
+
+    public Level1 forCache(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Level1 {
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRefundJobResponse {
+    private UUID id;
+    private String status;
+    private String reason;
+    private int totalOrders;
+    private int processedOrders;
+    private int refundedOrders;
+    private int skippedOrders;
+    private int failedOrders;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
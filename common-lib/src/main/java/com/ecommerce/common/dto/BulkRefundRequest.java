@@ -0,0 +1,32 @@
+package com.ecommerce.common.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the orders of a bulk refund job: either explicit {@code orderIds}, or every COMPLETED
+ * payment created in [{@code createdFrom}, {@code createdTo}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRefundRequest {
+
+    @Size(max = 100_000, message = "At most 100000 order ids per job")
+    private List<@NotNull UUID> orderIds;
+
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    @Size(max = 500, message = "Reason must be at most 500 characters")
+    private String reason;
+}
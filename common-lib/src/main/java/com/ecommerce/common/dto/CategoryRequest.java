@@ -0,0 +1,22 @@
+package com.ecommerce.common.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRequest {
+
+    @NotBlank(message = "Category name is required")
+    @Size(max = 100)
+    private String name;
+
+    @Size(max = 500)
+    private String description;
+}
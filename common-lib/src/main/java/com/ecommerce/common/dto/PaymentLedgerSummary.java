@@ -0,0 +1,34 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ledger totals per entry type for [{@code from}, {@code to}); {@code netAmount} is COMPLETED minus REFUNDED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentLedgerSummary {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<EntryTotal> totals;
+    private BigDecimal netAmount;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryTotal {
+        private String entryType;
+        private long entries;
+        private BigDecimal amount;
+    }
+}
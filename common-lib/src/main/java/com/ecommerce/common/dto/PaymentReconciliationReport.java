@@ -0,0 +1,24 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payments changed in [{@code from}, {@code to}) whose current status is not their latest ledger entry
+ * in that window. Lists at most the first 100 orders.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationReport {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<UUID> mismatchedOrderIds;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated product listing. {@code nextCursor} is opaque and is passed back
+ * unchanged to fetch the following page; it is null on the last page. No total count is computed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCursorPage {
+    private List<ProductSummaryResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. {@code failed} counts valid rows whose insert failed for a reason
+ * other than a duplicate SKU. {@code errors} lists at most the first 100 rejected or failed rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResult {
+    private long received;
+    private long inserted;
+    private long duplicates;
+    private long rejected;
+    private long failed;
+    private long durationMs;
+    private List<String> errors;
+}
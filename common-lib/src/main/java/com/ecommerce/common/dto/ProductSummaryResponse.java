@@ -0,0 +1,26 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a product — omits the description, which list pages never render.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryResponse {
+    private String id;
+    private String name;
+    private BigDecimal price;
+    private String sku;
+    private String categoryName;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Slim user profile for bulk lookups (notification fan-out, order history) — only display fields.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
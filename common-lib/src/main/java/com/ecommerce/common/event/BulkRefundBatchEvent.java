@@ -0,0 +1,50 @@
+package com.ecommerce.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one chunk of a bulk refund job, published to bulk-refund-replies keyed by jobId.
+ * The last event of a run has {@code jobStatus} COMPLETED or FAILED and no results.
+ *
+ * Delivery is at least once: a chunk retried after a crash may be reported again, with
+ * already-refunded orders as SKIPPED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRefundBatchEvent implements DomainEvent {
+    private UUID eventId;
+    private UUID jobId;
+    private String jobStatus;
+    private List<Result> results;
+    private Instant timestamp;
+
+    @Override
+    public String getEventType() {
+        return "BULK_REFUND_BATCH";
+    }
+
+    @Override
+    public String getAggregateId() {
+        return jobId.toString();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private UUID orderId;
+        private String outcome;
+        private String refundTransactionId;
+        private String failureReason;
+    }
+}
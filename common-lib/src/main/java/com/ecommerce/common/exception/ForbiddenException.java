@@ -0,0 +1,11 @@
+package com.ecommerce.common.exception;
+
+/**
+ * Thrown when the caller is authenticated but its role may not use the endpoint; mapped to 403.
+ */
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.common.exception;
+
+/**
+ * Thrown when a bounded resource (worker pool, queue) is saturated and the request is shed
+ * instead of waiting; mapped to 503 with a Retry-After hint.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -2,8 +2,10 @@ package com.ecommerce.common.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.MacAlgorithm;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -22,10 +24,22 @@ public class JwtUtil {
 
     private final SecretKey key;
     private final long expirationMs;
+    /** Immutable and thread-safe, so built once instead of per call. */
+    private final JwtParser parser;
+    /** Resolved once instead of JJWT picking it from the key on every token. */
+    private final MacAlgorithm signatureAlgorithm;
 
     public JwtUtil(String secret, long expirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.signatureAlgorithm = switch (key.getAlgorithm()) {
+            case "HmacSHA512" -> Jwts.SIG.HS512;
+            case "HmacSHA384" -> Jwts.SIG.HS384;
+            default -> Jwts.SIG.HS256;
+        };
     }
 
     public String generateToken(UUID userId, String email, String role) {
@@ -38,14 +52,12 @@ public class JwtUtil {
                 .claim("role", role)
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(key)
+                .signWith(key, signatureAlgorithm)
                 .compact();
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
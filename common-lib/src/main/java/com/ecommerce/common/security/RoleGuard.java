@@ -0,0 +1,27 @@
+package com.ecommerce.common.security;
+
+import com.ecommerce.common.exception.ForbiddenException;
+
+import java.util.Set;
+
+/**
+ * Role checks for endpoints restricted to operators and internal callers.
+ *
+ * The role comes from the {@code X-User-Role} header, which the gateway sets from the verified JWT
+ * (and strips from client requests); services calling each other directly send {@code SERVICE}.
+ */
+public final class RoleGuard {
+
+    private static final Set<String> ADMIN_OR_SERVICE = Set.of(SecurityConstants.ROLE_ADMIN, SecurityConstants.ROLE_SERVICE);
+
+    private RoleGuard() {}
+
+    /**
+     * @throws ForbiddenException unless {@code role} is ADMIN or SERVICE
+     */
+    public static void requireAdminOrService(String role) {
+        if (role == null || !ADMIN_OR_SERVICE.contains(role)) {
+            throw new ForbiddenException("This operation requires the ADMIN or SERVICE role");
+        }
+    }
+}
@@ -11,4 +11,6 @@ public final class SecurityConstants {
     public static final String USER_ROLE_HEADER = "X-User-Role";
     public static final String ROLE_USER = "USER";
     public static final String ROLE_ADMIN = "ADMIN";
+    /** Internal service-to-service callers. */
+    public static final String ROLE_SERVICE = "SERVICE";
 }
@@ -1,74 +1,179 @@
 package com.ecommerce.common.security;
 
+import com.ecommerce.common.webclient.ServiceHttpClients;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Fetches and caches a Client Credentials access token from Keycloak for service-to-service calls.
  *
  * OAuth2 Client Credentials flow:
  * - The service authenticates itself (not on behalf of a user)
- * - Token is cached until 30s before expiry to minimize token endpoint calls
- * - Used by services that need to call other services without user context
+ * - The current token is held in an atomic reference and read without locking
+ * - A background refresh runs at 75% of the token's lifetime, so callers never wait on Keycloak
+ *   while a token is valid; failed refreshes retry with exponential backoff and jitter
+ * - Only when no usable token exists (startup, or an outage outlasting the token) do callers
+ *   wait, and then all of them share a single in-flight request
  */
 @Component
 @Slf4j
 public class ServiceAccountTokenProvider {
 
+    private static final double REFRESH_AT_LIFETIME_FRACTION = 0.75;
+    /** Tokens are not handed out this close to expiry, to absorb clock skew and transit time. */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(10);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration BACKOFF_BASE = Duration.ofSeconds(1);
+    private static final Duration BACKOFF_MAX = Duration.ofSeconds(60);
+
     private final WebClient tokenClient;
     private final String clientId;
     private final String clientSecret;
     private final String tokenUri;
 
-    private String cachedToken;
-    private Instant tokenExpiry = Instant.MIN;
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final AtomicReference<Mono<CachedToken>> refreshInFlight = new AtomicReference<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicReference<Disposable> scheduledRefresh = new AtomicReference<>();
 
     public ServiceAccountTokenProvider(
             @Value("${keycloak.client-id:ecommerce-service}") String clientId,
             @Value("${keycloak.client-secret:service-account-secret}") String clientSecret,
-            @Value("${keycloak.token-uri:http://keycloak:8180/realms/ecommerce/protocol/openid-connect/token}") String tokenUri) {
+            @Value("${keycloak.token-uri:http://keycloak:8180/realms/ecommerce/protocol/openid-connect/token}") String tokenUri,
+            ServiceHttpClients serviceHttpClients) {
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.tokenUri = tokenUri;
-        this.tokenClient = WebClient.builder().build();
+        // Plain (not load-balanced) client: Keycloak is addressed directly, but shares the tuned pool
+        this.tokenClient = WebClient.builder()
+                .clientConnector(serviceHttpClients.connector("keycloak"))
+                .build();
     }
 
-    @SuppressWarnings("unchecked")
-    public synchronized String getToken() {
-        if (cachedToken != null && Instant.now().isBefore(tokenExpiry)) {
-            return cachedToken;
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh().subscribe(token -> { }, e -> { });
+    }
+
+    /**
+     * The current access token; completes immediately whenever a usable token is held.
+     */
+    public Mono<String> token() {
+        CachedToken token = current.get();
+        if (token != null && token.isUsable()) {
+            return Mono.just(token.value());
         }
+        return refresh().map(CachedToken::value);
+    }
 
-        try {
-            Map<String, Object> response = tokenClient.post()
-                    .uri(tokenUri)
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters
-                            .fromFormData("grant_type", "client_credentials")
-                            .with("client_id", clientId)
-                            .with("client_secret", clientSecret))
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response != null) {
-                cachedToken = (String) response.get("access_token");
-                int expiresIn = (Integer) response.get("expires_in");
-                tokenExpiry = Instant.now().plusSeconds(expiresIn - 30);
-                log.debug("Obtained service account token, expires in {}s", expiresIn);
+    /**
+     * Blocking variant for imperative callers. Only blocks when no usable token is held.
+     */
+    public String getToken() {
+        CachedToken token = current.get();
+        if (token != null && token.isUsable()) {
+            return token.value();
+        }
+        return token().block(FETCH_TIMEOUT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable scheduled = scheduledRefresh.getAndSet(null);
+        if (scheduled != null) {
+            scheduled.dispose();
+        }
+    }
+
+    /**
+     * Single-flight refresh: concurrent callers share one request to Keycloak.
+     */
+    private Mono<CachedToken> refresh() {
+        while (true) {
+            Mono<CachedToken> existing = refreshInFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            Mono<CachedToken> flight = fetchToken()
+                    .doOnNext(this::onRefreshed)
+                    .doOnError(this::onRefreshFailed)
+                    .doFinally(signal -> refreshInFlight.set(null))
+                    .cache();
+            if (refreshInFlight.compareAndSet(null, flight)) {
+                return flight;
             }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<CachedToken> fetchToken() {
+        return tokenClient.post()
+                .uri(tokenUri)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters
+                        .fromFormData("grant_type", "client_credentials")
+                        .with("client_id", clientId)
+                        .with("client_secret", clientSecret))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .timeout(FETCH_TIMEOUT)
+                .map(response -> {
+                    String accessToken = (String) response.get("access_token");
+                    long expiresIn = ((Number) response.get("expires_in")).longValue();
+                    Instant now = Instant.now();
+                    return new CachedToken(accessToken,
+                            now.plusSeconds(expiresIn).minus(EXPIRY_MARGIN),
+                            now.plusMillis((long) (expiresIn * 1000 * REFRESH_AT_LIFETIME_FRACTION)));
+                });
+    }
+
+    private void onRefreshed(CachedToken token) {
+        current.set(token);
+        consecutiveFailures.set(0);
+        log.debug("Obtained service account token, refreshing at {}", token.refreshAt());
+        scheduleRefresh(Duration.between(Instant.now(), token.refreshAt()));
+    }
+
+    private void onRefreshFailed(Throwable e) {
+        int failures = consecutiveFailures.incrementAndGet();
+        long backoffMs = Math.min(BACKOFF_MAX.toMillis(), BACKOFF_BASE.toMillis() << Math.min(failures - 1, 16));
+        // +/-20% jitter so replicas do not retry in lockstep
+        backoffMs = (long) (backoffMs * (0.8 + ThreadLocalRandom.current().nextDouble() * 0.4));
+        log.warn("Failed to obtain service account token (attempt {}), retrying in {} ms: {}",
+                failures, backoffMs, e.getMessage());
+        scheduleRefresh(Duration.ofMillis(backoffMs));
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        Disposable next = Mono.delay(delay.isNegative() ? Duration.ZERO : delay)
+                .flatMap(tick -> refresh())
+                .subscribe(token -> { }, e -> { });
+        Disposable previous = scheduledRefresh.getAndSet(next);
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    private record CachedToken(String value, Instant expiresAt, Instant refreshAt) {
 
-            return cachedToken;
-        } catch (Exception e) {
-            log.warn("Failed to obtain service account token: {}", e.getMessage());
-            return cachedToken; // Return stale token if available
+        boolean isUsable() {
+            return value != null && Instant.now().isBefore(expiresAt);
         }
     }
 }
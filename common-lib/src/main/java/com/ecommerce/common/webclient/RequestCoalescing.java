@@ -0,0 +1,33 @@
+package com.ecommerce.common.webclient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.function.Consumer;
+
+/**
+ * Opt-in request coalescing for WebClients built from the shared load-balanced builder:
+ *
+ * <pre>
+ * webClientBuilder.clone()
+ *         .apply(requestCoalescing.forClient("product-service"))
+ *         .baseUrl("http://product-service")
+ *         .build();
+ * </pre>
+ *
+ * The filter is installed first, ahead of load balancing, so requests are matched on the logical
+ * service URL rather than on whichever instance they would be sent to.
+ */
+public class RequestCoalescing {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescing(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Consumer<WebClient.Builder> forClient(String clientName) {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(clientName, meterRegistry);
+        return builder -> builder.filters(filters -> filters.add(0, filter));
+    }
+}
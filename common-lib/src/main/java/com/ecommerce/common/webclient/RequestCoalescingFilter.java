@@ -0,0 +1,102 @@
+package com.ecommerce.common.webclient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares one upstream call between identical GET/HEAD requests that are in flight at the same time.
+ *
+ * Requests are identical when URL, Accept and Authorization match. The first caller's exchange is
+ * buffered once and replayed as a fresh ClientResponse to every caller that joined while it was
+ * running; the entry is dropped as soon as it completes, so nothing is cached beyond the call
+ * itself. Other per-request headers (e.g. the correlation id) are those of the first caller.
+ *
+ * Metrics: http.client.coalescing.requests{client, outcome=leader|coalesced}.
+ */
+public class RequestCoalescingFilter implements ExchangeFilterFunction {
+
+    private final ConcurrentMap<RequestKey, Mono<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderRequests;
+    private final Counter coalescedRequests;
+
+    public RequestCoalescingFilter(String clientName, MeterRegistry meterRegistry) {
+        this.leaderRequests = meterRegistry.counter("http.client.coalescing.requests",
+                "client", clientName, "outcome", "leader");
+        this.coalescedRequests = meterRegistry.counter("http.client.coalescing.requests",
+                "client", clientName, "outcome", "coalesced");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET && request.method() != HttpMethod.HEAD
+                || request.body() != BodyInserters.empty()) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            RequestKey key = RequestKey.of(request);
+            Mono<BufferedResponse> candidate = next.exchange(request)
+                    .flatMap(BufferedResponse::from)
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache();
+            Mono<BufferedResponse> existing = inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                coalescedRequests.increment();
+                return existing.map(BufferedResponse::toClientResponse);
+            }
+            leaderRequests.increment();
+            return candidate.map(BufferedResponse::toClientResponse);
+        });
+    }
+
+    private record RequestKey(HttpMethod method, String url, List<String> accept, String authorization) {
+
+        static RequestKey of(ClientRequest request) {
+            HttpHeaders headers = request.headers();
+            return new RequestKey(request.method(), request.url().toString(),
+                    headers.getOrEmpty(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.AUTHORIZATION));
+        }
+    }
+
+    /**
+     * The leader's response, kept with its client's ExchangeStrategies so replays decode with the
+     * same codecs (ObjectMapper, maxInMemorySize, custom decoders) as the original.
+     */
+    private record BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body,
+                                    ExchangeStrategies strategies, HttpRequest request) {
+
+        static Mono<BufferedResponse> from(ClientResponse response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.addAll(response.headers().asHttpHeaders());
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> new BufferedResponse(response.statusCode(), headers, body,
+                            response.strategies(), response.request()));
+        }
+
+        ClientResponse toClientResponse() {
+            return ClientResponse.create(status, strategies)
+                    .request(request)
+                    .headers(target -> target.addAll(headers))
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.common.webclient;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Shared Reactor Netty connection pool for service-to-service calls, with per-client timeouts.
+ *
+ * Every client gets its own HttpClient (so timeouts can differ) on top of one ConnectionProvider,
+ * which keeps a separate bounded pool per remote host. Callers beyond the pending-acquire limit
+ * fail fast instead of queueing without bound. Pool metrics are published to Micrometer as
+ * {@code reactor.netty.connection.provider.*} (active, idle, pending, max).
+ */
+public class ServiceHttpClients {
+
+    public static final String DEFAULT_CLIENT = "default";
+
+    private final WebClientProperties properties;
+    private final ConnectionProvider connectionProvider;
+
+    public ServiceHttpClients(WebClientProperties properties) {
+        this.properties = properties;
+        WebClientProperties.Pool pool = properties.getPool();
+        this.connectionProvider = ConnectionProvider.builder("service-http")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    public HttpClient httpClient(String clientName) {
+        WebClientProperties.Timeouts timeouts = properties.timeoutsFor(clientName);
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeouts.getConnectTimeout().toMillis())
+                .responseTimeout(timeouts.getResponseTimeout())
+                .compress(properties.isCompression());
+        if (properties.isH2c()) {
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    public ClientHttpConnector connector(String clientName) {
+        return new ReactorClientHttpConnector(httpClient(clientName));
+    }
+
+    /**
+     * Applies the client's timeouts to a builder, e.g. {@code builder.clone().apply(serviceHttpClients.forClient("x"))}.
+     */
+    public Consumer<WebClient.Builder> forClient(String clientName) {
+        ClientHttpConnector connector = connector(clientName);
+        return builder -> builder.clientConnector(connector);
+    }
+
+    public void dispose() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+}
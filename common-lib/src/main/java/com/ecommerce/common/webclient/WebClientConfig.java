@@ -1,23 +1,43 @@
 package com.ecommerce.common.webclient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * Auto-configuration for a load-balanced WebClient that propagates correlation IDs
- * and user context headers across service-to-service calls.
+ * and user context headers across service-to-service calls, plus opt-in request coalescing
+ * ({@link RequestCoalescing}) for clients that want it.
+ *
+ * Connections come from the pooled, timed-out {@link ServiceHttpClients} rather than Reactor Netty's
+ * defaults; clients with their own timeouts apply {@link ServiceHttpClients#forClient}.
  */
 @AutoConfiguration
 @ConditionalOnClass(WebClient.class)
+@EnableConfigurationProperties(WebClientProperties.class)
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ServiceHttpClients serviceHttpClients(WebClientProperties properties) {
+        return new ServiceHttpClients(properties);
+    }
+
     @Bean
     @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder() {
+    public WebClient.Builder loadBalancedWebClientBuilder(ServiceHttpClients serviceHttpClients) {
         return WebClient.builder()
+                .clientConnector(serviceHttpClients.connector(ServiceHttpClients.DEFAULT_CLIENT))
                 .filter(new HeaderPropagationFilter());
     }
+
+    @Bean
+    public RequestCoalescing requestCoalescing(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RequestCoalescing(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
 }
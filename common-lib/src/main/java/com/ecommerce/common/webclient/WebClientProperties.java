@@ -0,0 +1,89 @@
+package com.ecommerce.common.webclient;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pool, protocol and timeout settings for service-to-service WebClients.
+ *
+ * <pre>
+ * ecommerce.webclient:
+ *   pool: { max-connections: 200, pending-acquire-max-count: 500 }
+ *   h2c: true
+ *   clients:
+ *     product-service: { response-timeout: 2s }
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ecommerce.webclient")
+public class WebClientProperties {
+
+    private Pool pool = new Pool();
+
+    /** Cleartext HTTP/2 (with HTTP/1.1 fallback); the called services must enable server.http2. */
+    private boolean h2c = false;
+
+    /** Advertise gzip and transparently decompress responses. */
+    private boolean compression = true;
+
+    /** Timeouts for clients without an explicit entry, and for fields a client entry leaves unset. */
+    private Timeouts defaults = new Timeouts(Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    /** Per-client timeout overrides, keyed by the name the client registers with. */
+    private Map<String, Timeouts> clients = new HashMap<>();
+
+    /**
+     * The client's entry merged field by field over {@link #defaults}, so overriding one timeout
+     * keeps the configured default for the other.
+     */
+    public Timeouts timeoutsFor(String clientName) {
+        Timeouts overrides = clients.get(clientName);
+        return overrides != null ? overrides.orElse(defaults) : defaults;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /** Connections per remote host. */
+        private int maxConnections = 100;
+
+        /** Requests allowed to wait for a connection before failing fast. */
+        private int pendingAcquireMaxCount = 200;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** Recycles connections so load balancing sees new instances. */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration evictionInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Timeouts {
+
+        /** Null in a client entry: use the default. */
+        private Duration connectTimeout;
+
+        private Duration responseTimeout;
+
+        Timeouts orElse(Timeouts fallback) {
+            return new Timeouts(
+                    connectTimeout != null ? connectTimeout : fallback.getConnectTimeout(),
+                    responseTimeout != null ? responseTimeout : fallback.getResponseTimeout());
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class InventoryService {
     private final InventoryReservationRepository reservationRepository;
 
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.INVENTORY_BY_PRODUCT, key = "#productId")
+    @Cacheable(value = CacheNames.INVENTORY_BY_PRODUCT, key = "#productId", sync = true)
     public InventoryResponse getInventory(UUID productId) {
         log.info("Fetching inventory for productId={}", productId);
 
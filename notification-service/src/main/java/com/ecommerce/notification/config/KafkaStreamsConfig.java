@@ -1,5 +1,6 @@
 package com.ecommerce.notification.config;
 
+import com.ecommerce.notification.kafka.streams.OrderSagaStreamsTopology;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,4 +14,9 @@ public class KafkaStreamsConfig {
     public NewTopic notificationEventsTopic() {
         return new NewTopic("notification-events", 3, (short) 1);
     }
+
+    @Bean
+    public NewTopic orderSagaStatusTopic() {
+        return new NewTopic(OrderSagaStreamsTopology.SAGA_STATUS_TOPIC, 3, (short) 1);
+    }
 }
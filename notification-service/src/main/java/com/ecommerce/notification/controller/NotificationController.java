@@ -1,16 +1,23 @@
 package com.ecommerce.notification.controller;
 
-import com.ecommerce.notification.entity.Notification;
+import com.ecommerce.notification.dto.NotificationPage;
 import com.ecommerce.notification.entity.OrderSagaView;
 import com.ecommerce.notification.kafka.streams.SagaStateQueryService;
 import com.ecommerce.notification.service.NotificationService;
+import com.ecommerce.notification.service.SagaStatusStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,14 +30,21 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final SagaStateQueryService sagaStateQueryService;
+    private final SagaStatusStreamService sagaStatusStreamService;
 
     @GetMapping
-    @Operation(summary = "Get notifications for current user")
-    public ResponseEntity<List<Notification>> getNotifications(
-            @RequestHeader("X-User-Id") String userId) {
-        List<Notification> notifications = notificationService
-                .getNotificationsByUserId(UUID.fromString(userId));
-        return ResponseEntity.ok(notifications);
+    @Operation(summary = "Get notifications for current user",
+            description = "Keyset-paginated, newest first. Pass nextCursor back as cursor for older items, "
+                    + "or since to poll only for items created after a timestamp")
+    public ResponseEntity<NotificationPage> getNotifications(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        NotificationPage page = notificationService
+                .getNotificationsByUserId(UUID.fromString(userId), cursor, size, since);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/order/{orderId}/saga-status")
@@ -51,4 +65,27 @@ public class NotificationController {
 
         return ResponseEntity.notFound().build();
     }
+
+    @GetMapping(value = "/order/{orderId}/saga-status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream saga status transitions for an order (Server-Sent Events)",
+            description = "Sends the current status, then each transition; the stream completes on CONFIRMED or CANCELLED")
+    public ResponseEntity<SseEmitter> streamSagaStatus(@PathVariable UUID orderId) {
+        return sagaStatusStreamService.subscribe(orderId.toString(), () ->
+                        sagaStateQueryService.getSagaState(orderId.toString())
+                                .or(() -> notificationService.getSagaStatus(orderId).map(this::toStateMap))
+                                .orElse(null))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    private Map<String, Object> toStateMap(OrderSagaView view) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("currentStatus", view.getCurrentStatus());
+        state.put("failureReason", view.getFailureReason());
+        state.put("transactionId", view.getTransactionId());
+        state.put("updatedAt", view.getUpdatedAt() != null ? view.getUpdatedAt().toString() : null);
+        return state;
+    }
 }
@@ -0,0 +1,25 @@
+package com.ecommerce.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of notification history. {@code nextCursor} is opaque to clients and is
+ * passed back unchanged to fetch the following (older) page; it is null on the last page.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPage {
+
+    private List<NotificationSummary> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Slim read projection of a notification for the history API.
+ * Selected directly via a JPQL constructor expression so list queries never hydrate full entities.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSummary {
+
+    private UUID id;
+    private UUID orderId;
+    private String notificationType;
+    private String message;
+    private String status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.notification.kafka.consumer;
+
+import com.ecommerce.notification.kafka.streams.OrderSagaStreamsTopology;
+import com.ecommerce.notification.service.SagaStatusStreamService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Broadcast consumer for saga state changes emitted by the Streams topology.
+ *
+ * Every instance joins with its own random group id and starts at the latest offset, so each
+ * one sees every transition and can push it to the SSE clients it happens to hold.
+ * Unparseable records are skipped: this is a live feed, there is nothing to retry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaStatusStreamConsumer {
+
+    private final SagaStatusStreamService sagaStatusStreamService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = OrderSagaStreamsTopology.SAGA_STATUS_TOPIC,
+            groupId = "notification-saga-stream-#{T(java.util.UUID).randomUUID()}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void handleSagaStatus(ConsumerRecord<String, String> record) {
+        if (record.key() == null || record.value() == null) {
+            return;
+        }
+        try {
+            Map<String, Object> state = objectMapper.readValue(record.value(), new TypeReference<>() {});
+            sagaStatusStreamService.publish(record.key(), state);
+        } catch (Exception e) {
+            log.warn("Skipping unreadable saga status for order {}: {}", record.key(), e.getMessage());
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class OrderSagaStreamsTopology {
     private static final String PAYMENT_EVENTS = "payment-events";
     private static final String NOTIFICATION_EVENTS = "notification-events";
     public static final String SAGA_STORE = "order-saga-store";
+    public static final String SAGA_STATUS_TOPIC = "order-saga-status";
 
     private final ObjectMapper objectMapper;
 
@@ -133,6 +134,10 @@ public class OrderSagaStreamsTopology {
                         .withValueSerde(Serdes.String())
         );
 
+        // Publish every saga state change so each instance can push it to its connected SSE clients
+        sagaStateTable.toStream()
+                .to(SAGA_STATUS_TOPIC, Produced.with(Serdes.String(), Serdes.String()));
+
         // Filter terminal states and produce notification events
         sagaStateTable.toStream()
                 .filter((orderId, stateJson) -> {
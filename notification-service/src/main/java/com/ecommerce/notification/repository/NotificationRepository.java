@@ -1,16 +1,51 @@
 package com.ecommerce.notification.repository;
 
+import com.ecommerce.notification.dto.NotificationSummary;
 import com.ecommerce.notification.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    /**
+     * First page of a user's history, newest first. Served by idx_notifications_user_keyset.
+     */
+    @Query("""
+            SELECT new com.ecommerce.notification.dto.NotificationSummary(
+                n.id, n.orderId, n.notificationType, n.message, n.status, n.createdAt)
+            FROM Notification n
+            WHERE n.userId = :userId AND n.createdAt > :since
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationSummary> findSummaryPage(@Param("userId") UUID userId,
+                                              @Param("since") LocalDateTime since,
+                                              Limit limit);
+
+    /**
+     * Keyset continuation: rows strictly after (cursorCreatedAt, cursorId) in (created_at DESC, id DESC) order.
+     */
+    @Query("""
+            SELECT new com.ecommerce.notification.dto.NotificationSummary(
+                n.id, n.orderId, n.notificationType, n.message, n.status, n.createdAt)
+            FROM Notification n
+            WHERE n.userId = :userId AND n.createdAt > :since
+              AND (n.createdAt < :cursorCreatedAt
+                   OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<NotificationSummary> findSummaryPageAfter(@Param("userId") UUID userId,
+                                                   @Param("since") LocalDateTime since,
+                                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                   @Param("cursorId") UUID cursorId,
+                                                   Limit limit);
 
     List<Notification> findByOrderId(UUID orderId);
 
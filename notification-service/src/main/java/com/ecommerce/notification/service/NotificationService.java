@@ -1,5 +1,7 @@
 package com.ecommerce.notification.service;
 
+import com.ecommerce.notification.dto.NotificationPage;
+import com.ecommerce.notification.dto.NotificationSummary;
 import com.ecommerce.notification.entity.Notification;
 import com.ecommerce.notification.entity.OrderSagaView;
 import com.ecommerce.notification.repository.NotificationRepository;
@@ -7,10 +9,14 @@ import com.ecommerce.notification.repository.OrderSagaViewRepository;
 import com.ecommerce.notification.strategy.NotificationStrategyFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +26,11 @@ import java.util.UUID;
 @Slf4j
 public class NotificationService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final NotificationRepository notificationRepository;
     private final OrderSagaViewRepository orderSagaViewRepository;
     private final NotificationStrategyFactory notificationStrategyFactory;
@@ -54,9 +65,36 @@ public class NotificationService {
         return notification;
     }
 
+    /**
+     * Keyset-paginated notification history, newest first.
+     * Fetches one extra row to decide whether another page exists without a count query.
+     */
     @Transactional(readOnly = true)
-    public List<Notification> getNotificationsByUserId(UUID userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public NotificationPage getNotificationsByUserId(UUID userId, String cursor, int size, LocalDateTime since) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime lowerBound = since != null ? since : NO_LOWER_BOUND;
+        Limit limit = Limit.of(size + 1);
+
+        List<NotificationSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findSummaryPage(userId, lowerBound, limit);
+        } else {
+            CursorPosition position = decodeCursor(cursor);
+            rows = notificationRepository.findSummaryPageAfter(userId, lowerBound,
+                    position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<NotificationSummary> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+
+        return NotificationPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional
@@ -79,4 +117,27 @@ public class NotificationService {
     public Optional<OrderSagaView> getSagaStatus(UUID orderId) {
         return orderSagaViewRepository.findById(orderId);
     }
+
+    private String encodeCursor(NotificationSummary last) {
+        String raw = last.getCreatedAt() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorPosition decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CursorPosition(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record CursorPosition(LocalDateTime createdAt, UUID id) {
+    }
 }
@@ -0,0 +1,253 @@
+package com.ecommerce.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Pushes order saga status transitions to clients over Server-Sent Events.
+ *
+ * Backpressure: each connection has a single-slot "latest wins" mailbox. A slow client never
+ * blocks the Kafka listener thread; intermediate states are dropped and only the newest status
+ * is delivered. At most one send task per connection is queued on the shared sender pool.
+ *
+ * Ordering: a stream is registered before its current state is read, so no transition published
+ * in between is missed. Updates are ordered by their {@code updatedAt}; one older than the update
+ * already pending or last delivered is dropped, so a stale seed never replaces a newer transition.
+ *
+ * The number of open streams per instance is capped; callers get an empty Optional when full.
+ */
+@Service
+@Slf4j
+public class SagaStatusStreamService {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of("CONFIRMED", "CANCELLED");
+    private static final String EVENT_NAME = "saga-status";
+
+    private final Map<String, Set<Subscription>> subscriptionsByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final ExecutorService sender;
+    private final int maxStreams;
+    private final long timeoutMs;
+    private final Counter rejectedStreams;
+    private final Counter droppedUpdates;
+
+    public SagaStatusStreamService(
+            @Value("${notification.saga-stream.max-connections:1000}") int maxStreams,
+            @Value("${notification.saga-stream.timeout-ms:300000}") long timeoutMs,
+            @Value("${notification.saga-stream.sender-threads:4}") int senderThreads,
+            MeterRegistry meterRegistry) {
+        this.maxStreams = maxStreams;
+        this.timeoutMs = timeoutMs;
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "saga-sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("notification.saga.streams.open", openStreams);
+        this.rejectedStreams = meterRegistry.counter("notification.saga.streams.rejected");
+        this.droppedUpdates = meterRegistry.counter("notification.saga.streams.updates.coalesced");
+    }
+
+    /**
+     * Opens a stream for an order, seeded with its current state if known. The state is read only
+     * after the stream is registered for live updates.
+     * Returns empty when this instance already holds the maximum number of open streams.
+     */
+    public Optional<SseEmitter> subscribe(String orderId, Supplier<Map<String, Object>> currentState) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            rejectedStreams.increment();
+            log.warn("Rejecting saga status stream for order {}: {} streams already open", orderId, maxStreams);
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(orderId, emitter);
+        subscriptionsByOrder.compute(orderId, (id, subscriptions) -> {
+            Set<Subscription> target = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        Map<String, Object> seed;
+        try {
+            seed = currentState.get();
+        } catch (RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        if (seed != null) {
+            subscription.offer(toStatusEvent(orderId, seed));
+        }
+        log.debug("Opened saga status stream for order {} ({} open)", orderId, openStreams.get());
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Fans a saga state change out to every stream open on this instance for the order.
+     */
+    public void publish(String orderId, Map<String, Object> state) {
+        Set<Subscription> subscriptions = subscriptionsByOrder.get(orderId);
+        if (subscriptions == null || subscriptions.isEmpty()) {
+            return;
+        }
+        Map<String, Object> event = toStatusEvent(orderId, state);
+        subscriptions.forEach(subscription -> subscription.offer(event));
+    }
+
+    public int getOpenStreams() {
+        return openStreams.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionsByOrder.values().forEach(subscriptions ->
+                subscriptions.forEach(subscription -> subscription.emitter.complete()));
+        sender.shutdown();
+    }
+
+    private Map<String, Object> toStatusEvent(String orderId, Map<String, Object> state) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("orderId", orderId);
+        event.put("currentStatus", state.get("currentStatus"));
+        event.put("failureReason", state.get("failureReason"));
+        event.put("transactionId", state.get("transactionId"));
+        event.put("updatedAt", state.get("updatedAt"));
+        return event;
+    }
+
+    /**
+     * True when the event is known to predate {@code reference}; events without a timestamp are never older.
+     */
+    private static boolean isOlder(Map<String, Object> event, Instant reference) {
+        Instant at = updatedAt(event);
+        return at != null && reference != null && at.isBefore(reference);
+    }
+
+    /**
+     * Streams state carries an Instant; the database view a LocalDateTime in the service's zone.
+     */
+    private static Instant updatedAt(Map<String, Object> event) {
+        Object value = event.get("updatedAt");
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(text).atZone(ZoneId.systemDefault()).toInstant();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private final class Subscription {
+
+        private final String orderId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Map<String, Object>> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Object lastSentStatus;
+        private volatile Instant lastSentAt;
+
+        private Subscription(String orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        void offer(Map<String, Object> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (isOlder(event, lastSentAt)) {
+                droppedUpdates.increment();
+                return;
+            }
+            Map<String, Object> previous = pending.getAndAccumulate(event, (current, offered) ->
+                    current == null || !isOlder(offered, updatedAt(current)) ? offered : current);
+            if (previous != null) {
+                droppedUpdates.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Map<String, Object> event = pending.getAndSet(null);
+                if (event == null) {
+                    draining.set(false);
+                    // Re-check: an update may have landed between the read and releasing the flag
+                    if (pending.get() == null || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                Object status = event.get("currentStatus");
+                if ((status != null && status.equals(lastSentStatus)) || isOlder(event, lastSentAt)) {
+                    continue;
+                }
+                try {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON));
+                    lastSentStatus = status;
+                    lastSentAt = updatedAt(event);
+                    if (TERMINAL_STATUSES.contains(status)) {
+                        emitter.complete();
+                        close();
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Saga status stream for order {} closed by client: {}", orderId, e.getMessage());
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            openStreams.decrementAndGet();
+            subscriptionsByOrder.computeIfPresent(orderId, (id, subscriptions) -> {
+                subscriptions.remove(this);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+}
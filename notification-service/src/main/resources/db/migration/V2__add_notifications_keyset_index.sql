@@ -0,0 +1,5 @@
+-- Composite index backing keyset pagination of notification history on (user_id, created_at, id).
+-- It also covers user_id-only lookups, so the single-column index is redundant.
+CREATE INDEX idx_notifications_user_keyset ON notifications(user_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_notifications_user_id;
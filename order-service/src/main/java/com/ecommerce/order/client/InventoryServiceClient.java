@@ -1,5 +1,7 @@
 package com.ecommerce.order.client;
 
+import com.ecommerce.common.webclient.RequestCoalescing;
+import com.ecommerce.common.webclient.ServiceHttpClients;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +18,14 @@ public class InventoryServiceClient {
 
     private final WebClient webClient;
 
-    public InventoryServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl("http://inventory-service").build();
+    public InventoryServiceClient(WebClient.Builder webClientBuilder, RequestCoalescing requestCoalescing,
+                                  ServiceHttpClients serviceHttpClients) {
+        // Identical lookups in flight at once (e.g. a flash sale on one product) share a single call
+        this.webClient = webClientBuilder.clone()
+                .apply(serviceHttpClients.forClient("inventory-service"))
+                .apply(requestCoalescing.forClient("inventory-service"))
+                .baseUrl("http://inventory-service")
+                .build();
     }
 
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "checkAvailabilityFallback")
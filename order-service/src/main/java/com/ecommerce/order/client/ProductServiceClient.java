@@ -1,6 +1,8 @@
 package com.ecommerce.order.client;
 
 import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.webclient.RequestCoalescing;
+import com.ecommerce.common.webclient.ServiceHttpClients;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +26,14 @@ public class ProductServiceClient {
 
     private final WebClient webClient;
 
-    public ProductServiceClient(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl("http://product-service").build();
+    public ProductServiceClient(WebClient.Builder webClientBuilder, RequestCoalescing requestCoalescing,
+                                ServiceHttpClients serviceHttpClients) {
+        // Identical lookups in flight at once (e.g. a flash sale on one product) share a single call
+        this.webClient = webClientBuilder.clone()
+                .apply(serviceHttpClients.forClient("product-service"))
+                .apply(requestCoalescing.forClient("product-service"))
+                .baseUrl("http://product-service")
+                .build();
     }
 
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductFallback")
@@ -1,5 +1,6 @@
 package com.ecommerce.order.kafka.consumer;
 
+import com.ecommerce.common.event.BulkRefundBatchEvent;
 import com.ecommerce.order.service.OrderService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,11 +9,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
- * Kafka consumer that listens for inventory and payment events to update order status.
+ * Kafka consumer that listens for inventory and payment events, and bulk refund replies, to update
+ * order status.
  *
  * Error handling: exceptions propagate to the DLQ error handler for retry + dead-letter.
  */
@@ -74,6 +77,37 @@ public class OrderEventConsumer {
         }
     }
 
+    /**
+     * One chunk of a bulk refund job: REFUNDED and SKIPPED (already refunded) orders become REFUNDED;
+     * FAILED ones keep their status and are only logged, the job can be resumed for them.
+     */
+    @KafkaListener(topics = "bulk-refund-replies", groupId = "order-service-group")
+    public void handleBulkRefundReply(String message) {
+        BulkRefundBatchEvent event;
+        try {
+            event = objectMapper.readValue(message, BulkRefundBatchEvent.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize bulk refund reply", e);
+        }
+        if (event.getResults() == null || event.getResults().isEmpty()) {
+            log.info("Bulk refund job {} finished with status {}", event.getJobId(), event.getJobStatus());
+            return;
+        }
+
+        List<UUID> refunded = event.getResults().stream()
+                .filter(result -> "REFUNDED".equals(result.getOutcome()) || "SKIPPED".equals(result.getOutcome()))
+                .map(BulkRefundBatchEvent.Result::getOrderId)
+                .toList();
+        event.getResults().stream()
+                .filter(result -> "FAILED".equals(result.getOutcome()))
+                .forEach(result -> log.warn("Bulk refund job {} failed for order {}: {}",
+                        event.getJobId(), result.getOrderId(), result.getFailureReason()));
+
+        if (!refunded.isEmpty()) {
+            orderService.markRefunded(refunded);
+        }
+    }
+
     private Map<String, Object> deserialize(String message) {
         try {
             return objectMapper.readValue(message, new TypeReference<>() {});
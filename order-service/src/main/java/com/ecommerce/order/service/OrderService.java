@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -129,6 +130,26 @@ public class OrderService {
         log.info("Order {} status updated from {} to {}", orderId, previousStatus, status);
     }
 
+    /**
+     * Marks the orders of a bulk refund chunk REFUNDED in one transaction. Orders already REFUNDED or
+     * RETURNED are left alone, so a redelivered chunk changes nothing; unknown ids are logged.
+     */
+    public void markRefunded(Collection<UUID> orderIds) {
+        List<Order> orders = orderRepository.findAllById(orderIds);
+        if (orders.size() < orderIds.size()) {
+            log.warn("Bulk refund reply references {} unknown orders", orderIds.size() - orders.size());
+        }
+        int updated = 0;
+        for (Order order : orders) {
+            if (!"REFUNDED".equals(order.getStatus()) && !"RETURNED".equals(order.getStatus())) {
+                order.setStatus("REFUNDED");
+                updated++;
+            }
+        }
+        orderRepository.saveAll(orders);
+        log.info("Marked {} of {} bulk-refunded orders REFUNDED", updated, orderIds.size());
+    }
+
     private void saveOutboxEvent(Order order, String eventType) {
         try {
             Map<String, Object> eventPayload = new HashMap<>();
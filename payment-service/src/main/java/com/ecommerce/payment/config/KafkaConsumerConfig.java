@@ -0,0 +1,31 @@
+package com.ecommerce.payment.config;
+
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String ASYNC_ACK_CONTAINER_FACTORY = "asyncAckKafkaListenerContainerFactory";
+
+    /**
+     * Listener containers for records completed asynchronously: acknowledgments may arrive out of
+     * order and from other threads, and the container only commits an offset once every record
+     * before it has been acknowledged. Everything else (error handler, consumer settings) is the
+     * Boot default.
+     */
+    @Bean(ASYNC_ACK_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> asyncAckKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+}
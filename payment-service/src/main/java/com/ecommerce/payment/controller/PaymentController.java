@@ -1,15 +1,30 @@
 package com.ecommerce.payment.controller;
 
+import com.ecommerce.common.dto.BulkRefundJobResponse;
+import com.ecommerce.common.dto.BulkRefundRequest;
+import com.ecommerce.common.dto.PaymentLedgerSummary;
+import com.ecommerce.common.dto.PaymentReconciliationReport;
 import com.ecommerce.common.dto.PaymentResponse;
+import com.ecommerce.common.security.RoleGuard;
+import com.ecommerce.common.security.SecurityConstants;
+import com.ecommerce.payment.service.BulkRefundService;
+import com.ecommerce.payment.service.PaymentLedgerService;
 import com.ecommerce.payment.service.PaymentService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +34,8 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final BulkRefundService bulkRefundService;
+    private final PaymentLedgerService paymentLedgerService;
 
     @GetMapping("/order/{orderId}")
     public ResponseEntity<PaymentResponse> getPaymentByOrderId(@PathVariable UUID orderId) {
@@ -26,4 +43,50 @@ public class PaymentController {
         PaymentResponse response = paymentService.getPaymentByOrderId(orderId);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refunds/bulk")
+    public ResponseEntity<BulkRefundJobResponse> startBulkRefund(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @Valid @RequestBody BulkRefundRequest request) {
+        RoleGuard.requireAdminOrService(role);
+        log.info("POST /api/payments/refunds/bulk");
+        return ResponseEntity.accepted().body(bulkRefundService.startJob(request));
+    }
+
+    @GetMapping("/refunds/bulk/{jobId}")
+    public ResponseEntity<BulkRefundJobResponse> getBulkRefund(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @PathVariable UUID jobId) {
+        RoleGuard.requireAdminOrService(role);
+        return ResponseEntity.ok(bulkRefundService.getJob(jobId));
+    }
+
+    @PostMapping("/refunds/bulk/{jobId}/resume")
+    public ResponseEntity<BulkRefundJobResponse> resumeBulkRefund(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @PathVariable UUID jobId) {
+        RoleGuard.requireAdminOrService(role);
+        log.info("POST /api/payments/refunds/bulk/{}/resume", jobId);
+        return ResponseEntity.accepted().body(bulkRefundService.resumeJob(jobId));
+    }
+
+    @GetMapping("/ledger/summary")
+    public ResponseEntity<PaymentLedgerSummary> getLedgerSummary(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        RoleGuard.requireAdminOrService(role);
+        log.info("GET /api/payments/ledger/summary from={} to={}", from, to);
+        return ResponseEntity.ok(paymentLedgerService.summarize(from, to));
+    }
+
+    @GetMapping("/ledger/reconciliation")
+    public ResponseEntity<PaymentReconciliationReport> getLedgerReconciliation(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        RoleGuard.requireAdminOrService(role);
+        log.info("GET /api/payments/ledger/reconciliation from={} to={}", from, to);
+        return ResponseEntity.ok(paymentLedgerService.reconcile(from, to));
+    }
 }
@@ -59,6 +59,13 @@ public class Payment {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * APPROVED / DECLINED once the provider has answered, even if the final status could not be
+     * written yet; null while the provider outcome is unknown.
+     */
+    @Column(name = "provider_outcome", length = 20)
+    private String providerOutcome;
+
     @Column(name = "refunded_amount", precision = 12, scale = 2)
     private BigDecimal refundedAmount;
 
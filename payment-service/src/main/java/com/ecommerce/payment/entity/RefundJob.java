@@ -0,0 +1,70 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A bulk refund run. Counters and status are only changed through the bulk updates in
+ * RefundJobRepository, so parallel chunk checkpoints never overwrite each other.
+ */
+@Entity
+@Table(name = "refund_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefundJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    @Column(name = "total_orders", nullable = false)
+    private int totalOrders;
+
+    @Column(name = "processed_orders", nullable = false)
+    private int processedOrders;
+
+    @Column(name = "refunded_orders", nullable = false)
+    private int refundedOrders;
+
+    @Column(name = "skipped_orders", nullable = false)
+    private int skippedOrders;
+
+    @Column(name = "failed_orders", nullable = false)
+    private int failedOrders;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
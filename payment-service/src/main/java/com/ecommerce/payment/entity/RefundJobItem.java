@@ -0,0 +1,57 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One order of a bulk refund job: PENDING until its chunk commits, then REFUNDED, SKIPPED
+ * (already refunded) or FAILED; replied once that outcome has been published.
+ */
+@Entity
+@Table(name = "refund_job_items")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefundJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "job_id", nullable = false, updatable = false)
+    private UUID jobId;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private UUID orderId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "refund_transaction_id", length = 100)
+    private String refundTransactionId;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** True once this item's outcome has been published to bulk-refund-replies. */
+    @Column(name = "replied", nullable = false)
+    private boolean replied;
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.payment.kafka;
+
+import com.ecommerce.common.event.BulkRefundBatchEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the batched reply stream of bulk refund jobs: one event per chunk instead of one
+ * saga reply per order. Keyed by jobId, so a job's replies stay in order on one partition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkRefundReplyPublisher {
+
+    private static final String BULK_REFUND_REPLIES_TOPIC = "bulk-refund-replies";
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Sends one batch and waits for the broker to acknowledge it.
+     */
+    public void publish(UUID jobId, String jobStatus, List<BulkRefundBatchEvent.Result> results) {
+        BulkRefundBatchEvent event = BulkRefundBatchEvent.builder()
+                .eventId(UUID.randomUUID())
+                .jobId(jobId)
+                .jobStatus(jobStatus)
+                .results(results)
+                .timestamp(Instant.now())
+                .build();
+
+        String payload = serialize(event);
+        try {
+            kafkaTemplate.send(BULK_REFUND_REPLIES_TOPIC, jobId.toString(), payload)
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.debug("Published bulk refund batch: jobId={}, jobStatus={}, results={}", jobId, jobStatus, results.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while publishing bulk refund reply", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Failed to publish bulk refund reply", e);
+        }
+    }
+
+    private String serialize(BulkRefundBatchEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize bulk refund reply", e);
+        }
+    }
+}
@@ -2,51 +2,93 @@ package com.ecommerce.payment.kafka;
 
 import com.ecommerce.common.event.PaymentCompletedEvent;
 import com.ecommerce.common.event.PaymentFailedEvent;
+import com.ecommerce.payment.config.KafkaConsumerConfig;
 import com.ecommerce.payment.entity.Payment;
 import com.ecommerce.payment.service.PaymentService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka consumer that listens for inventory-events and triggers payment processing.
  *
- * Error handling: exceptions propagate to the DLQ error handler for retry + dead-letter.
+ * Payments run asynchronously: the listener thread starts a payment and moves on to the next record,
+ * so payments from one partition complete out of order. Each record is acknowledged once its payment
+ * event is published; the async-ack container commits offsets in order, only past records that are
+ * all done. At most {@code payment.inventory-consumer.max-in-flight} payments run per listener
+ * instance — beyond that the listener waits, which pauses consumption.
+ *
+ * Error handling: records that cannot be parsed propagate to the DLQ error handler. Payments whose
+ * outcome stays unknown are retried here (1s, 2s, 4s — as the DLQ handler would), then dead-lettered
+ * to {@code <topic>.DLT} with the same partition.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class InventoryEventConsumer {
 
     private static final String PAYMENT_EVENTS_TOPIC = "payment-events";
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_BASE_DELAY_MS = 1000;
 
     private final PaymentService paymentService;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final Semaphore inFlightPermits;
+
+    public InventoryEventConsumer(PaymentService paymentService,
+                                  KafkaTemplate<String, String> kafkaTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${payment.inventory-consumer.max-in-flight:64}") int maxInFlight) {
+        this.paymentService = paymentService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+    }
 
-    @KafkaListener(topics = "inventory-events", groupId = "payment-service-group")
-    public void handleInventoryEvent(String message) {
+    @KafkaListener(topics = "inventory-events", groupId = "payment-service-group",
+            containerFactory = KafkaConsumerConfig.ASYNC_ACK_CONTAINER_FACTORY)
+    public void handleInventoryEvent(@Payload String message,
+                                     @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                     @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                     @Header(name = KafkaHeaders.RECEIVED_KEY, required = false) String key,
+                                     Acknowledgment acknowledgment) throws InterruptedException {
         log.info("Received inventory event: {}", message);
 
         Map<String, Object> event = deserialize(message);
         String eventType = (String) event.get("eventType");
 
         if ("INVENTORY_RESERVED".equals(eventType)) {
-            handleInventoryReserved(event);
+            handleInventoryReserved(event)
+                    .whenComplete((published, error) -> {
+                        if (error == null) {
+                            acknowledgment.acknowledge();
+                        } else {
+                            deadLetter(topic, partition, key, message, error, acknowledgment);
+                        }
+                    });
         } else {
             log.info("Ignoring inventory event of type: {}", eventType);
+            acknowledgment.acknowledge();
         }
     }
 
-    private void handleInventoryReserved(Map<String, Object> event) {
+    private CompletableFuture<Void> handleInventoryReserved(Map<String, Object> event) throws InterruptedException {
         UUID orderId = UUID.fromString((String) event.get("orderId"));
         UUID userId = UUID.fromString((String) event.get("userId"));
         BigDecimal totalAmount = new BigDecimal(event.get("totalAmount").toString());
@@ -54,16 +96,60 @@ public class InventoryEventConsumer {
         log.info("Processing payment for reserved inventory: orderId={}, userId={}, totalAmount={}",
                 orderId, userId, totalAmount);
 
-        Payment payment = paymentService.processPayment(orderId, userId, totalAmount);
+        inFlightPermits.acquire();
+        return processWithRetry(orderId, userId, totalAmount, 1)
+                .thenCompose(this::publishOutcome)
+                .whenComplete((ignored, error) -> inFlightPermits.release());
+    }
 
+    private CompletableFuture<Payment> processWithRetry(UUID orderId, UUID userId, BigDecimal amount, int attempt) {
+        CompletableFuture<Payment> payment;
+        try {
+            payment = paymentService.processPayment(orderId, userId, amount);
+        } catch (RuntimeException e) {
+            payment = CompletableFuture.failedFuture(e);
+        }
+        return payment.exceptionallyCompose(error -> {
+            if (attempt > MAX_RETRIES) {
+                return CompletableFuture.failedFuture(error);
+            }
+            long delayMs = RETRY_BASE_DELAY_MS << (attempt - 1);
+            log.warn("Payment attempt {} for orderId={} failed, retrying in {} ms: {}",
+                    attempt, orderId, delayMs, error.getMessage());
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> processWithRetry(orderId, userId, amount, attempt + 1));
+        });
+    }
+
+    private CompletableFuture<Void> publishOutcome(Payment payment) {
         if ("COMPLETED".equals(payment.getStatus())) {
-            publishPaymentCompletedEvent(payment);
+            return publishPaymentCompletedEvent(payment);
         } else if ("FAILED".equals(payment.getStatus())) {
-            publishPaymentFailedEvent(payment);
+            return publishPaymentFailedEvent(payment);
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Mirrors DlqErrorHandler's recoverer. If even the dead-letter write fails the record is left
+     * unacknowledged, so its offset is not committed and it is redelivered after a restart or rebalance.
+     */
+    private void deadLetter(String topic, int partition, String key, String message, Throwable error,
+                            Acknowledgment acknowledgment) {
+        log.error("Sending message to DLQ: topic={}, key={}, error={}", topic, key, error.getMessage());
+        kafkaTemplate.send(new ProducerRecord<>(topic + ".DLT", partition, key, message))
+                .whenComplete((result, sendError) -> {
+                    if (sendError == null) {
+                        acknowledgment.acknowledge();
+                    } else {
+                        log.error("Failed to dead-letter message from {}-{} with key={}, leaving it uncommitted: {}",
+                                topic, partition, key, sendError.getMessage());
+                    }
+                });
     }
 
-    private void publishPaymentCompletedEvent(Payment payment) {
+    private CompletableFuture<Void> publishPaymentCompletedEvent(Payment payment) {
         PaymentCompletedEvent event = PaymentCompletedEvent.builder()
                 .eventId(UUID.randomUUID())
                 .orderId(payment.getOrderId())
@@ -74,11 +160,11 @@ public class InventoryEventConsumer {
                 .build();
 
         String payload = serialize(event);
-        kafkaTemplate.send(PAYMENT_EVENTS_TOPIC, payment.getOrderId().toString(), payload);
-        log.info("Published PAYMENT_COMPLETED event for orderId={}", payment.getOrderId());
+        return kafkaTemplate.send(PAYMENT_EVENTS_TOPIC, payment.getOrderId().toString(), payload)
+                .thenAccept(result -> log.info("Published PAYMENT_COMPLETED event for orderId={}", payment.getOrderId()));
     }
 
-    private void publishPaymentFailedEvent(Payment payment) {
+    private CompletableFuture<Void> publishPaymentFailedEvent(Payment payment) {
         PaymentFailedEvent event = PaymentFailedEvent.builder()
                 .eventId(UUID.randomUUID())
                 .orderId(payment.getOrderId())
@@ -88,8 +174,8 @@ public class InventoryEventConsumer {
                 .build();
 
         String payload = serialize(event);
-        kafkaTemplate.send(PAYMENT_EVENTS_TOPIC, payment.getOrderId().toString(), payload);
-        log.info("Published PAYMENT_FAILED event for orderId={}", payment.getOrderId());
+        return kafkaTemplate.send(PAYMENT_EVENTS_TOPIC, payment.getOrderId().toString(), payload)
+                .thenAccept(result -> log.info("Published PAYMENT_FAILED event for orderId={}", payment.getOrderId()));
     }
 
     private Map<String, Object> deserialize(String message) {
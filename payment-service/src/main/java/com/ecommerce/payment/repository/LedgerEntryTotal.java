@@ -0,0 +1,21 @@
+package com.ecommerce.payment.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Count and amount of the ledger entries of one type, as aggregated by PaymentLedgerRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryTotal {
+    private String entryType;
+    private Long entries;
+    private BigDecimal amount;
+}
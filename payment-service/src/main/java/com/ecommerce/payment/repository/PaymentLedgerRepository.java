@@ -0,0 +1,48 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.PaymentLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Every ledger query is bounded by {@code recordedAt}, so Postgres prunes to the partitions of the
+ * requested months and uses the BRIN index within them.
+ */
+@Repository
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, UUID> {
+
+    @Query("SELECT new com.ecommerce.payment.repository.LedgerEntryTotal(e.entryType, COUNT(e), SUM(e.amount)) "
+            + "FROM PaymentLedgerEntry e WHERE e.recordedAt >= :from AND e.recordedAt < :to "
+            + "GROUP BY e.entryType ORDER BY e.entryType")
+    List<LedgerEntryTotal> summarize(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Orders updated in the window whose latest ledger entry in the window is missing or differs
+     * from the payment's status.
+     */
+    @Query(value = "SELECT p.order_id FROM payments p "
+            + "LEFT JOIN (SELECT DISTINCT ON (payment_id) payment_id, entry_type FROM payment_ledger "
+            + "           WHERE recorded_at >= :from AND recorded_at < :to "
+            + "           ORDER BY payment_id, recorded_at DESC) latest ON latest.payment_id = p.id "
+            + "WHERE p.updated_at >= :from AND p.updated_at < :to "
+            + "AND latest.entry_type IS DISTINCT FROM p.status "
+            + "LIMIT :limit", nativeQuery = true)
+    List<UUID> findMismatchedOrderIds(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      @Param("limit") int limit);
+
+    @Query(value = "SELECT ensure_payment_ledger_partitions(:fromMonth, :monthsAhead)", nativeQuery = true)
+    int ensurePartitions(@Param("fromMonth") LocalDate fromMonth, @Param("monthsAhead") int monthsAhead);
+
+    /**
+     * Rows no monthly partition covers; non-zero after maintenance means entries outside the managed range.
+     */
+    @Query(value = "SELECT count(*) FROM payment_ledger_default", nativeQuery = true)
+    long countDefaultPartitionRows();
+}
@@ -1,9 +1,18 @@
 package com.ecommerce.payment.repository;
 
 import com.ecommerce.payment.entity.Payment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +24,59 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     boolean existsByOrderId(UUID orderId);
 
     Optional<Payment> findByTransactionId(String transactionId);
+
+    /**
+     * Row-locks the payments of a refund chunk, in a fixed order so concurrent chunks cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.orderId IN :orderIds ORDER BY p.orderId")
+    List<Payment> lockByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Insert-first idempotency: creates the PENDING payment for an order, together with its PENDING
+     * ledger entry, in one statement; returns empty when one already exists (the unique constraint on
+     * order_id arbitrates races, and a conflict writes no ledger entry).
+     */
+    @Query(value = "WITH inserted AS ("
+            + "INSERT INTO payments (id, order_id, user_id, amount, status, created_at, updated_at, version) "
+            + "VALUES (gen_random_uuid(), :orderId, :userId, :amount, 'PENDING', now(), now(), 0) "
+            + "ON CONFLICT (order_id) DO NOTHING "
+            + "RETURNING *), "
+            + "ledger AS ("
+            + "INSERT INTO payment_ledger (payment_id, order_id, user_id, entry_type, amount, recorded_at) "
+            + "SELECT id, order_id, user_id, 'PENDING', amount, created_at FROM inserted) "
+            + "SELECT * FROM inserted", nativeQuery = true)
+    Optional<Payment> insertPendingIfAbsent(@Param("orderId") UUID orderId,
+                                            @Param("userId") UUID userId,
+                                            @Param("amount") BigDecimal amount);
+
+    /**
+     * Stores the provider's answer on a PENDING payment ahead of the outcome transaction; a no-op
+     * once an answer is stored or the payment has left PENDING.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.providerOutcome = :outcome, p.transactionId = :transactionId, "
+            + "p.failureReason = :failureReason "
+            + "WHERE p.id = :id AND p.status = 'PENDING' AND p.providerOutcome IS NULL")
+    int recordProviderResult(@Param("id") UUID id, @Param("outcome") String outcome,
+                             @Param("transactionId") String transactionId,
+                             @Param("failureReason") String failureReason);
+
+    /**
+     * Claims a PENDING payment for a re-drive: refreshes updated_at only if nobody touched the row
+     * since it was read. Returns 1 for the instance that won the claim, 0 for everyone else.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.updatedAt = :now "
+            + "WHERE p.id = :id AND p.status = 'PENDING' AND p.updatedAt = :readUpdatedAt")
+    int claimPending(@Param("id") UUID id, @Param("readUpdatedAt") LocalDateTime readUpdatedAt,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Renews the lease of PENDING payments this instance still has in flight, so a slow provider
+     * call does not look abandoned to other instances.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.updatedAt = :now WHERE p.orderId IN :orderIds AND p.status = 'PENDING'")
+    int renewPending(@Param("orderIds") Collection<UUID> orderIds, @Param("now") LocalDateTime now);
 }
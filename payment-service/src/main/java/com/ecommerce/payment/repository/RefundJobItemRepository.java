@@ -0,0 +1,47 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.RefundJobItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefundJobItemRepository extends JpaRepository<RefundJobItem, UUID> {
+
+    /**
+     * Keyset page over a job's pending items, in id order; pass the last id seen to get the next chunk.
+     */
+    @Query("SELECT i.id FROM RefundJobItem i WHERE i.jobId = :jobId AND i.status = 'PENDING' AND i.id > :afterId "
+            + "ORDER BY i.id")
+    List<UUID> findPendingIds(@Param("jobId") UUID jobId, @Param("afterId") UUID afterId, Limit limit);
+
+    /**
+     * Adds every COMPLETED payment created in [from, to) to a job, in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO refund_job_items (id, job_id, order_id, status) "
+            + "SELECT gen_random_uuid(), :jobId, p.order_id, 'PENDING' FROM payments p "
+            + "WHERE p.status = 'COMPLETED' AND p.created_at >= :from AND p.created_at < :to "
+            + "ON CONFLICT (job_id, order_id) DO NOTHING", nativeQuery = true)
+    int insertCompletedPayments(@Param("jobId") UUID jobId, @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+
+    /**
+     * Keyset page over a job's finished items whose reply has not been published yet.
+     */
+    @Query("SELECT i FROM RefundJobItem i WHERE i.jobId = :jobId AND i.status <> 'PENDING' AND i.replied = false "
+            + "AND i.id > :afterId ORDER BY i.id")
+    List<RefundJobItem> findUnreplied(@Param("jobId") UUID jobId, @Param("afterId") UUID afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE RefundJobItem i SET i.replied = true WHERE i.id IN :ids")
+    int markReplied(@Param("ids") Collection<UUID> ids);
+}
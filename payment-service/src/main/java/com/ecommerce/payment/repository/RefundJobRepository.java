@@ -0,0 +1,47 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.RefundJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefundJobRepository extends JpaRepository<RefundJob, UUID> {
+
+    List<RefundJob> findByStatusAndUpdatedAtBefore(String status, LocalDateTime updatedBefore);
+
+    /**
+     * Takes over a job for running: a FAILED job, or a RUNNING one whose owner stopped checkpointing.
+     * Returns 0 when another runner holds it.
+     */
+    @Modifying
+    @Query("UPDATE RefundJob j SET j.status = 'RUNNING', j.lastError = null, j.updatedAt = :now "
+            + "WHERE j.id = :id AND (j.status = 'FAILED' OR (j.status = 'RUNNING' AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Checkpoint of one chunk; also the running job's heartbeat.
+     */
+    @Modifying
+    @Query("UPDATE RefundJob j SET j.processedOrders = j.processedOrders + :refunded + :skipped + :failed, "
+            + "j.refundedOrders = j.refundedOrders + :refunded, j.skippedOrders = j.skippedOrders + :skipped, "
+            + "j.failedOrders = j.failedOrders + :failed, j.updatedAt = :now WHERE j.id = :id")
+    int recordChunk(@Param("id") UUID id, @Param("refunded") int refunded, @Param("skipped") int skipped,
+                    @Param("failed") int failed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefundJob j SET j.status = :status, j.lastError = :lastError, j.updatedAt = :now, "
+            + "j.completedAt = CASE WHEN :status = 'COMPLETED' THEN :now ELSE null END WHERE j.id = :id")
+    int finish(@Param("id") UUID id, @Param("status") String status, @Param("lastError") String lastError,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefundJob j SET j.totalOrders = :total, j.updatedAt = :now WHERE j.id = :id")
+    int setTotal(@Param("id") UUID id, @Param("total") int total, @Param("now") LocalDateTime now);
+}
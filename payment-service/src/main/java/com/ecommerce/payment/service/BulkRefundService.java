@@ -0,0 +1,466 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.common.dto.BulkRefundJobResponse;
+import com.ecommerce.common.dto.BulkRefundRequest;
+import com.ecommerce.common.event.BulkRefundBatchEvent;
+import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.RefundJob;
+import com.ecommerce.payment.entity.RefundJobItem;
+import com.ecommerce.payment.kafka.BulkRefundReplyPublisher;
+import com.ecommerce.payment.repository.PaymentRepository;
+import com.ecommerce.payment.repository.RefundJobItemRepository;
+import com.ecommerce.payment.repository.RefundJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk refunds for mass returns (e.g. a product recall), as resumable jobs.
+ *
+ * A job materializes its orders as refund_job_items up front, then refunds them in chunks of
+ * {@code payment.bulk-refund.chunk-size}, at most {@code parallelism} chunks at a time. Each chunk is
+ * one transaction: payments are row-locked and updated in a JDBC batch, the items are marked with their
+ * outcome and the job counters advanced — that commit is the checkpoint. A chunk's batched reply is
+ * published to bulk-refund-replies only after that commit, then its items are marked replied; a reply
+ * that could not be sent is re-sent before the job's final reply, and by any run that resumes the job.
+ * Replies are therefore at least once, and never for a refund that rolled back.
+ *
+ * A failing chunk is retried, then stops the job as FAILED; resuming it continues with the items
+ * still PENDING. A RUNNING job that has not checkpointed for {@code stale-after} (its instance died)
+ * is taken over by the periodic sweep on any instance.
+ */
+@Service
+@Slf4j
+public class BulkRefundService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final RefundJobRepository refundJobRepository;
+    private final RefundJobItemRepository refundJobItemRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final BulkRefundReplyPublisher replyPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration staleAfter;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService chunkExecutor;
+    private final ScheduledExecutorService sweeper;
+    private final Map<UUID, JobRun> runs = new ConcurrentHashMap<>();
+
+    private final Counter refundedOrders;
+    private final Counter skippedOrders;
+    private final Counter failedOrders;
+    private final Timer chunkTimer;
+
+    public BulkRefundService(RefundJobRepository refundJobRepository,
+                             RefundJobItemRepository refundJobItemRepository,
+                             PaymentRepository paymentRepository,
+                             PaymentService paymentService,
+                             BulkRefundReplyPublisher replyPublisher,
+                             TransactionTemplate transactionTemplate,
+                             EntityManager entityManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${payment.bulk-refund.chunk-size:500}") int chunkSize,
+                             @Value("${payment.bulk-refund.parallelism:4}") int parallelism,
+                             @Value("${payment.bulk-refund.stale-after:2m}") Duration staleAfter) {
+        this.refundJobRepository = refundJobRepository;
+        this.refundJobItemRepository = refundJobItemRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.replyPublisher = replyPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.staleAfter = staleAfter;
+
+        this.jobExecutor = Executors.newCachedThreadPool(daemonThreads("bulk-refund-job"));
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism, daemonThreads("bulk-refund-chunk"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("bulk-refund-sweeper"));
+
+        this.refundedOrders = meterRegistry.counter("payment.bulk_refund.orders", "outcome", "refunded");
+        this.skippedOrders = meterRegistry.counter("payment.bulk_refund.orders", "outcome", "skipped");
+        this.failedOrders = meterRegistry.counter("payment.bulk_refund.orders", "outcome", "failed");
+        this.chunkTimer = meterRegistry.timer("payment.bulk_refund.chunk");
+        meterRegistry.gauge("payment.bulk_refund.jobs.active", runs, Map::size);
+        meterRegistry.gauge("payment.bulk_refund.remaining", runs,
+                active -> active.values().stream().mapToLong(run -> run.remaining.get()).sum());
+    }
+
+    public BulkRefundJobResponse startJob(BulkRefundRequest request) {
+        boolean byIds = request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+        boolean byQuery = request.getCreatedFrom() != null && request.getCreatedTo() != null;
+        if (byIds == byQuery) {
+            throw new IllegalArgumentException("Provide either orderIds or both createdFrom and createdTo");
+        }
+
+        RefundJob job = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            RefundJob created = refundJobRepository.save(RefundJob.builder()
+                    .status("RUNNING")
+                    .reason(request.getReason())
+                    .updatedAt(now)
+                    .build());
+            int total = byIds
+                    ? insertItems(created.getId(), request.getOrderIds())
+                    : refundJobItemRepository.insertCompletedPayments(created.getId(),
+                            request.getCreatedFrom(), request.getCreatedTo());
+            refundJobRepository.setTotal(created.getId(), total, now);
+            created.setTotalOrders(total);
+            return created;
+        });
+        log.info("Created bulk refund job {} with {} orders", job.getId(), job.getTotalOrders());
+
+        launch(job.getId());
+        return toResponse(job);
+    }
+
+    public BulkRefundJobResponse getJob(UUID jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * Restarts a FAILED job, or a RUNNING one that stopped checkpointing, from its pending items.
+     */
+    public BulkRefundJobResponse resumeJob(UUID jobId) {
+        RefundJob job = findJob(jobId);
+        if (runs.containsKey(jobId)) {
+            return toResponse(job);
+        }
+        if (!claim(jobId)) {
+            throw new IllegalArgumentException("Bulk refund job " + jobId + " is " + job.getStatus()
+                    + " and cannot be resumed");
+        }
+        log.info("Resuming bulk refund job {}", jobId);
+        launch(jobId);
+        return toResponse(findJob(jobId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleStaleJobSweep() {
+        sweeper.scheduleWithFixedDelay(this::resumeStaleJobs, 0, staleAfter.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        jobExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    private void resumeStaleJobs() {
+        try {
+            for (RefundJob job : refundJobRepository.findByStatusAndUpdatedAtBefore("RUNNING",
+                    LocalDateTime.now().minus(staleAfter))) {
+                if (!runs.containsKey(job.getId()) && claim(job.getId())) {
+                    log.warn("Taking over stale bulk refund job {}", job.getId());
+                    launch(job.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stale bulk refund job sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean claim(UUID jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                refundJobRepository.claim(jobId, now, now.minus(staleAfter)));
+        return claimed != null && claimed == 1;
+    }
+
+    /**
+     * Persists one PENDING item per distinct order, flushing in chunk-sized JDBC batches.
+     */
+    private int insertItems(UUID jobId, List<UUID> orderIds) {
+        Set<UUID> distinct = new LinkedHashSet<>(orderIds);
+        int count = 0;
+        for (UUID orderId : distinct) {
+            entityManager.persist(RefundJobItem.builder()
+                    .jobId(jobId)
+                    .orderId(orderId)
+                    .status("PENDING")
+                    .build());
+            if (++count % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return distinct.size();
+    }
+
+    private void launch(UUID jobId) {
+        RefundJob job = findJob(jobId);
+        JobRun run = new JobRun(job.getTotalOrders() - job.getProcessedOrders());
+        if (runs.putIfAbsent(jobId, run) != null) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                runJob(jobId, run);
+            } finally {
+                runs.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * Walks the pending items by keyset and hands out chunks, keeping at most {@code parallelism}
+     * in flight; stops handing out work after the first chunk that fails for good.
+     */
+    private void runJob(UUID jobId, JobRun run) {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            try {
+                UUID afterId = FIRST_ID;
+                while (run.error.get() == null) {
+                    List<UUID> itemIds = refundJobItemRepository.findPendingIds(jobId, afterId, Limit.of(chunkSize));
+                    if (itemIds.isEmpty()) {
+                        break;
+                    }
+                    afterId = itemIds.get(itemIds.size() - 1);
+
+                    permits.acquire();
+                    chunkExecutor.execute(() -> {
+                        try {
+                            processChunkWithRetry(jobId, itemIds, run);
+                        } catch (RuntimeException e) {
+                            run.error.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                run.error.compareAndSet(null, e);
+            }
+            // Wait for the chunks still in flight
+            permits.acquire(parallelism);
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING and is taken over once it is stale
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        publishUnrepliedItems(jobId);
+
+        Throwable error = run.error.get();
+        String status = error == null ? "COMPLETED" : "FAILED";
+        String lastError = error == null ? null : truncate(error.getMessage());
+        transactionTemplate.executeWithoutResult(tx ->
+                refundJobRepository.finish(jobId, status, lastError, LocalDateTime.now()));
+        try {
+            replyPublisher.publish(jobId, status, List.of());
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish final reply of bulk refund job {}: {}", jobId, e.getMessage());
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Bulk refund job {} {}: {} orders in {} ms ({} orders/s){}", jobId, status, run.processed.get(),
+                elapsedMs, run.processed.get() * 1000L / elapsedMs, error == null ? "" : " - " + lastError);
+    }
+
+    private void processChunkWithRetry(UUID jobId, List<UUID> itemIds, JobRun run) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                chunkTimer.record(() -> processChunk(jobId, itemIds, run));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS || run.error.get() != null) {
+                    log.error("Bulk refund job {}: chunk of {} items failed after {} attempts: {}",
+                            jobId, itemIds.size(), attempt, e.getMessage());
+                    throw e;
+                }
+                log.warn("Bulk refund job {}: chunk attempt {} failed, retrying: {}", jobId, attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One chunk, one transaction: lock the payments, refund what is refundable, mark the items and
+     * advance the job counters. The chunk's reply goes out once that has committed.
+     */
+    private void processChunk(UUID jobId, List<UUID> itemIds, JobRun run) {
+        ChunkOutcome outcome = transactionTemplate.execute(status -> {
+            List<RefundJobItem> items = refundJobItemRepository.findAllById(itemIds).stream()
+                    .filter(item -> "PENDING".equals(item.getStatus()))
+                    .toList();
+            Map<UUID, Payment> payments = paymentRepository.lockByOrderIdIn(
+                            items.stream().map(RefundJobItem::getOrderId).toList()).stream()
+                    .collect(Collectors.toMap(Payment::getOrderId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            ChunkOutcome result = new ChunkOutcome();
+            for (RefundJobItem item : items) {
+                Payment payment = payments.get(item.getOrderId());
+                if (payment == null) {
+                    item.setStatus("FAILED");
+                    item.setFailureReason("Payment not found");
+                    result.failed++;
+                } else if ("REFUNDED".equals(payment.getStatus())) {
+                    item.setStatus("SKIPPED");
+                    item.setRefundTransactionId(payment.getRefundTransactionId());
+                    result.skipped++;
+                } else if (!"COMPLETED".equals(payment.getStatus())) {
+                    item.setStatus("FAILED");
+                    item.setFailureReason("Cannot refund payment with status: " + payment.getStatus());
+                    result.failed++;
+                } else {
+                    paymentService.markRefunded(payment);
+                    item.setStatus("REFUNDED");
+                    item.setRefundTransactionId(payment.getRefundTransactionId());
+                    result.refunded++;
+                }
+                item.setUpdatedAt(now);
+                result.items.add(item);
+            }
+
+            refundJobRepository.recordChunk(jobId, result.refunded, result.skipped, result.failed, now);
+            return result;
+        });
+
+        if (!outcome.items.isEmpty()) {
+            try {
+                publishReplies(jobId, outcome.items);
+            } catch (RuntimeException e) {
+                // committed already; the reply is re-sent before the job's final reply
+                log.warn("Bulk refund job {}: reply of {} items not published yet: {}",
+                        jobId, outcome.items.size(), e.getMessage());
+            }
+        }
+
+        refundedOrders.increment(outcome.refunded);
+        skippedOrders.increment(outcome.skipped);
+        failedOrders.increment(outcome.failed);
+        int processed = outcome.refunded + outcome.skipped + outcome.failed;
+        run.processed.addAndGet(processed);
+        run.remaining.addAndGet(-processed);
+    }
+
+    /**
+     * Publishes the replies of committed items that have none yet: chunks whose publish failed, or
+     * that a previous run committed but did not get to reply for.
+     */
+    private void publishUnrepliedItems(UUID jobId) {
+        try {
+            UUID afterId = FIRST_ID;
+            while (true) {
+                List<RefundJobItem> items = refundJobItemRepository.findUnreplied(jobId, afterId, Limit.of(chunkSize));
+                if (items.isEmpty()) {
+                    return;
+                }
+                afterId = items.get(items.size() - 1).getId();
+                publishReplies(jobId, items);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk refund job {}: replies still unpublished, they are sent when the job resumes: {}",
+                    jobId, e.getMessage());
+        }
+    }
+
+    private void publishReplies(UUID jobId, List<RefundJobItem> items) {
+        List<BulkRefundBatchEvent.Result> replies = items.stream()
+                .map(item -> BulkRefundBatchEvent.Result.builder()
+                        .orderId(item.getOrderId())
+                        .outcome(item.getStatus())
+                        .refundTransactionId(item.getRefundTransactionId())
+                        .failureReason(item.getFailureReason())
+                        .build())
+                .toList();
+        replyPublisher.publish(jobId, "RUNNING", replies);
+        transactionTemplate.executeWithoutResult(status ->
+                refundJobItemRepository.markReplied(items.stream().map(RefundJobItem::getId).toList()));
+    }
+
+    private RefundJob findJob(UUID jobId) {
+        return refundJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("RefundJob", "id", jobId));
+    }
+
+    private BulkRefundJobResponse toResponse(RefundJob job) {
+        return BulkRefundJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .reason(job.getReason())
+                .totalOrders(job.getTotalOrders())
+                .processedOrders(job.getProcessedOrders())
+                .refundedOrders(job.getRefundedOrders())
+                .skippedOrders(job.getSkippedOrders())
+                .failedOrders(job.getFailedOrders())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Progress of a job running on this instance.
+     */
+    private static final class JobRun {
+        private final AtomicLong remaining;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        JobRun(long remaining) {
+            this.remaining = new AtomicLong(remaining);
+        }
+    }
+
+    private static final class ChunkOutcome {
+        private final List<RefundJobItem> items = new ArrayList<>();
+        private int refunded;
+        private int skipped;
+        private int failed;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.common.dto.PaymentLedgerSummary;
+import com.ecommerce.common.dto.PaymentReconciliationReport;
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.PaymentLedgerEntry;
+import com.ecommerce.payment.repository.LedgerEntryTotal;
+import com.ecommerce.payment.repository.PaymentLedgerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only ledger of payment state transitions, and the reports that read it.
+ *
+ * Each state change appends its entry in the transaction that updates the payments row, so the
+ * ledger and the current state commit or roll back together; the PENDING entry is written by the
+ * insert-first statement itself ({@code PaymentRepository.insertPendingIfAbsent}). Reports only read
+ * the ledger, bounded by time, instead of scanning the heavily updated payments table.
+ *
+ * Monthly partitions are kept {@code payment.ledger.partitions-ahead} months ahead, checked at
+ * startup and then daily. Rows that reached the default partition while maintenance was behind are
+ * moved into their month's partition when it is created; any left there afterwards are reported by
+ * the {@code payment.ledger.default_partition.rows} gauge and an error log.
+ */
+@Service
+@Slf4j
+public class PaymentLedgerService {
+
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final PaymentLedgerRepository ledgerRepository;
+    private final int partitionsAhead;
+    private final ScheduledExecutorService partitionMaintenance;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public PaymentLedgerService(PaymentLedgerRepository ledgerRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${payment.ledger.partitions-ahead:3}") int partitionsAhead) {
+        this.ledgerRepository = ledgerRepository;
+        this.partitionsAhead = partitionsAhead;
+        meterRegistry.gauge("payment.ledger.default_partition.rows", defaultPartitionRows);
+        this.partitionMaintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-ledger-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a transition of {@code payment}; must run inside the transaction that changes its status.
+     */
+    public void append(Payment payment, String entryType, BigDecimal amount, String transactionId) {
+        ledgerRepository.save(PaymentLedgerEntry.builder()
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .userId(payment.getUserId())
+                .entryType(entryType)
+                .amount(amount)
+                .transactionId(transactionId)
+                .recordedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentLedgerSummary summarize(LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        List<LedgerEntryTotal> totals = ledgerRepository.summarize(from, to);
+
+        BigDecimal net = BigDecimal.ZERO;
+        for (LedgerEntryTotal total : totals) {
+            if ("COMPLETED".equals(total.getEntryType())) {
+                net = net.add(total.getAmount());
+            } else if ("REFUNDED".equals(total.getEntryType())) {
+                net = net.subtract(total.getAmount());
+            }
+        }
+
+        return PaymentLedgerSummary.builder()
+                .from(from)
+                .to(to)
+                .totals(totals.stream()
+                        .map(total -> PaymentLedgerSummary.EntryTotal.builder()
+                                .entryType(total.getEntryType())
+                                .entries(total.getEntries())
+                                .amount(total.getAmount())
+                                .build())
+                        .toList())
+                .netAmount(net)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentReconciliationReport reconcile(LocalDateTime from, LocalDateTime to) {
+        requireWindow(from, to);
+        return PaymentReconciliationReport.builder()
+                .from(from)
+                .to(to)
+                .mismatchedOrderIds(ledgerRepository.findMismatchedOrderIds(from, to, MAX_REPORTED_MISMATCHES))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePartitionMaintenance() {
+        partitionMaintenance.scheduleWithFixedDelay(this::ensurePartitions, 0, 1, TimeUnit.DAYS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionMaintenance.shutdownNow();
+    }
+
+    private void ensurePartitions() {
+        try {
+            int created = ledgerRepository.ensurePartitions(LocalDate.now().withDayOfMonth(1), partitionsAhead);
+            if (created > 0) {
+                log.info("Created {} payment ledger partition(s)", created);
+            }
+            long stranded = ledgerRepository.countDefaultPartitionRows();
+            defaultPartitionRows.set(stranded);
+            if (stranded > 0) {
+                log.error("{} payment ledger rows are in the default partition outside the managed months", stranded);
+            }
+        } catch (RuntimeException e) {
+            log.error("Payment ledger partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private static void requireWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+}
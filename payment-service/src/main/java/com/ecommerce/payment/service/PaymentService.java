@@ -1,32 +1,115 @@
 package com.ecommerce.payment.service;
 
 import com.ecommerce.common.dto.PaymentResponse;
+import com.ecommerce.common.exception.PaymentProcessingException;
 import com.ecommerce.payment.entity.Payment;
 import com.ecommerce.payment.repository.PaymentRepository;
 import com.ecommerce.payment.strategy.PaymentResult;
+import com.ecommerce.payment.strategy.PaymentStrategy;
 import com.ecommerce.payment.strategy.PaymentStrategyFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Payment lifecycle. Order payments are processed asynchronously:
+ * 1. a PENDING row is committed in a short transaction (or the existing row is returned — idempotency),
+ * 2. the provider call runs outside any transaction, so no DB connection is held while it is in flight,
+ * 3. the outcome is written in a second short transaction on the completion pool.
+ *
+ * Idempotency is insert-first: the PENDING row is created with INSERT ... ON CONFLICT DO NOTHING, so the
+ * common case costs one statement and racing consumers are arbitrated by the unique order_id constraint;
+ * only a conflict falls back to reading the existing row. Concurrent requests for the same order on this
+ * instance share the in-flight attempt. A PENDING row left by an attempt of this instance whose outcome
+ * was unknown is re-driven by the next request right away (consumer retries come within seconds); one
+ * owned by another instance is left alone until it has not been touched for
+ * {@code payment.pending-takeover-after}, after that it is re-driven.
+ *
+ * updated_at is the lease on a PENDING row. Every re-drive first claims the row with a conditional
+ * update on the updated_at it read, so of several instances seeing the same stale row only one calls
+ * the provider. While an attempt is in flight its lease is renewed every third of the takeover window.
+ *
+ * Every status change also appends to the payment ledger (PaymentLedgerService) in the same transaction.
+ *
+ * The provider is not idempotent, so its answer is kept before the outcome transaction runs: in memory
+ * and in payments.provider_outcome. If the outcome transaction fails, the payment stays PENDING with the
+ * answer recorded, and a retry finishes it from that answer instead of charging again.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
-    private static final String DEFAULT_PAYMENT_METHOD = "CREDIT_CARD";
-
     private final PaymentRepository paymentRepository;
+    private final PaymentLedgerService paymentLedgerService;
     private final PaymentStrategyFactory paymentStrategyFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final String defaultPaymentMethod;
+    private final ExecutorService completionExecutor;
+    private final ScheduledExecutorService leaseRenewer;
+    private final Duration pendingTakeoverAfter;
 
-    @Transactional
-    public Payment processPayment(UUID orderId, UUID userId, BigDecimal amount) {
-        return processPayment(orderId, userId, amount, DEFAULT_PAYMENT_METHOD);
+    private final Map<UUID, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
+    /** Orders whose attempt on this instance ended with the outcome unknown, and when. */
+    private final Map<UUID, Instant> abandonedAttempts = new ConcurrentHashMap<>();
+    /** Provider answers whose outcome transaction has not committed yet, by order id. */
+    private final Map<UUID, PaymentResult> unrecordedResults = new ConcurrentHashMap<>();
+    private final Counter inFlightDuplicates;
+    private final Counter conflictDuplicates;
+
+    public PaymentService(PaymentRepository paymentRepository,
+                          PaymentLedgerService paymentLedgerService,
+                          PaymentStrategyFactory paymentStrategyFactory,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${payment.default-method:CREDIT_CARD}") String defaultPaymentMethod,
+                          @Value("${payment.completion-threads:8}") int completionThreads,
+                          @Value("${payment.pending-takeover-after:10s}") Duration pendingTakeoverAfter) {
+        this.paymentRepository = paymentRepository;
+        this.paymentLedgerService = paymentLedgerService;
+        this.paymentStrategyFactory = paymentStrategyFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.defaultPaymentMethod = defaultPaymentMethod;
+        this.pendingTakeoverAfter = pendingTakeoverAfter;
+        this.inFlightDuplicates = meterRegistry.counter("payment.idempotency.duplicates", "source", "in_flight");
+        this.conflictDuplicates = meterRegistry.counter("payment.idempotency.duplicates", "source", "insert_conflict");
+        this.completionExecutor = Executors.newFixedThreadPool(completionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-completion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long renewEveryMillis = Math.max(1, pendingTakeoverAfter.toMillis() / 3);
+        leaseRenewer.scheduleWithFixedDelay(this::renewLeases, renewEveryMillis, renewEveryMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Payment> processPayment(UUID orderId, UUID userId, BigDecimal amount) {
+        return processPayment(orderId, userId, amount, defaultPaymentMethod);
     }
 
     /**
@@ -34,42 +117,199 @@ public class PaymentService {
      * The PaymentStrategyFactory resolves the correct strategy (credit card, wallet, etc.)
      * based on the paymentMethod parameter, keeping this method closed for modification
      * but open for extension when new payment methods are added.
+     *
+     * The returned future completes with the COMPLETED/FAILED payment, or exceptionally when the
+     * provider outcome is unknown; the payment then stays PENDING.
      */
-    @Transactional
-    public Payment processPayment(UUID orderId, UUID userId, BigDecimal amount, String paymentMethod) {
+    public CompletableFuture<Payment> processPayment(UUID orderId, UUID userId, BigDecimal amount, String paymentMethod) {
         log.info("Processing payment for orderId={}, userId={}, amount={}, method={}",
                 orderId, userId, amount, paymentMethod);
 
-        // Idempotency check: if a payment already exists for this order, return it as-is
-        var existingPayment = paymentRepository.findByOrderId(orderId);
-        if (existingPayment.isPresent()) {
-            Payment payment = existingPayment.get();
-            log.info("Payment already exists for orderId={} with status={}", orderId, payment.getStatus());
-            return payment;
+        PaymentStrategy strategy = paymentStrategyFactory.getStrategy(paymentMethod);
+
+        CompletableFuture<Payment> running = inFlight.get(orderId);
+        if (running != null) {
+            inFlightDuplicates.increment();
+            log.info("Payment for orderId={} is already in flight, joining it", orderId);
+            return running;
         }
 
-        Payment payment = Payment.builder()
-                .orderId(orderId)
-                .userId(userId)
-                .amount(amount)
-                .status("PENDING")
-                .build();
+        Optional<Payment> inserted = transactionTemplate.execute(status ->
+                paymentRepository.insertPendingIfAbsent(orderId, userId, amount));
+        Payment payment;
+        if (inserted.isPresent()) {
+            payment = inserted.get();
+        } else {
+            conflictDuplicates.increment();
+            payment = paymentRepository.findByOrderId(orderId)
+                    .orElseThrow(() -> new EntityNotFoundException("Payment not found for orderId: " + orderId));
+            if (!"PENDING".equals(payment.getStatus())) {
+                log.info("Payment already exists for orderId={} with status={}", orderId, payment.getStatus());
+                return CompletableFuture.completedFuture(payment);
+            }
+            if (!inFlight.containsKey(orderId) && !abandonedAttempts.containsKey(orderId) && payment.getUpdatedAt()
+                    .isAfter(LocalDateTime.now().minus(pendingTakeoverAfter))) {
+                return CompletableFuture.failedFuture(new PaymentProcessingException(
+                        "Payment for order " + orderId + " is already being processed"));
+            }
+        }
 
-        // Delegate to the appropriate strategy via factory
-        PaymentResult result = paymentStrategyFactory.getStrategy(paymentMethod)
-                .process(orderId, userId, amount);
+        CompletableFuture<Payment> attempt = new CompletableFuture<>();
+        CompletableFuture<Payment> existing = inFlight.putIfAbsent(orderId, attempt);
+        if (existing != null) {
+            inFlightDuplicates.increment();
+            return existing;
+        }
+        if (inserted.isEmpty()) {
+            if (!claim(payment)) {
+                inFlight.remove(orderId, attempt);
+                PaymentProcessingException claimed = new PaymentProcessingException(
+                        "Payment for order " + orderId + " is already being processed");
+                attempt.completeExceptionally(claimed);
+                return attempt;
+            }
+            log.info("Re-driving PENDING payment for orderId={}", orderId);
+        }
+        abandonedAttempts.remove(orderId);
 
-        if (result.isSuccess()) {
-            payment.setStatus("COMPLETED");
-            payment.setTransactionId(result.getTransactionId());
-            log.info("Payment completed for orderId={}, txnId={}", orderId, result.getTransactionId());
+        UUID paymentId = payment.getId();
+        PaymentResult knownResult = knownProviderResult(payment);
+        CompletableFuture<PaymentResult> providerCall;
+        if (knownResult != null) {
+            log.info("Provider already answered for orderId={}, recording that answer without charging again", orderId);
+            providerCall = CompletableFuture.completedFuture(knownResult);
         } else {
-            payment.setStatus("FAILED");
-            payment.setFailureReason(result.getFailureReason());
-            log.warn("Payment failed for orderId={}: {}", orderId, result.getFailureReason());
+            try {
+                providerCall = strategy.process(orderId, userId, amount);
+            } catch (RuntimeException e) {
+                providerCall = CompletableFuture.failedFuture(e);
+            }
+        }
+
+        providerCall
+                .thenApplyAsync(result -> {
+                    keepProviderResult(orderId, paymentId, result);
+                    Payment recorded = recordOutcome(paymentId, result);
+                    unrecordedResults.remove(orderId);
+                    return recorded;
+                }, completionExecutor)
+                .whenComplete((completed, error) -> {
+                    if (error != null) {
+                        // marked before leaving inFlight, so a retry always sees one or the other
+                        markAbandoned(orderId);
+                        inFlight.remove(orderId, attempt);
+                        log.warn("Payment outcome unknown for orderId={}, leaving it PENDING: {}",
+                                orderId, error.getMessage());
+                        attempt.completeExceptionally(error);
+                    } else {
+                        inFlight.remove(orderId, attempt);
+                        attempt.complete(completed);
+                    }
+                });
+        return attempt;
+    }
+
+    /**
+     * Conditional claim on the updated_at this instance read; false if another instance got there first.
+     */
+    private boolean claim(Payment payment) {
+        try {
+            Integer claimed = transactionTemplate.execute(status -> paymentRepository.claimPending(
+                    payment.getId(), payment.getUpdatedAt(), now()));
+            return claimed != null && claimed == 1;
+        } catch (RuntimeException e) {
+            log.warn("Could not claim PENDING payment for orderId={}: {}", payment.getOrderId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    paymentRepository.renewPending(List.copyOf(inFlight.keySet()), now()));
+        } catch (RuntimeException e) {
+            log.warn("Could not renew leases of in-flight payments: {}", e.getMessage());
+        }
+    }
+
+    /** Postgres keeps microseconds, so claims compare against the value the row actually holds. */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Remembers that this instance owns the order's PENDING row, so its own retry may re-drive it
+     * without waiting out the takeover window. Entries older than that window are dropped: by then
+     * any instance may take the row over anyway.
+     */
+    private void markAbandoned(UUID orderId) {
+        Instant now = Instant.now();
+        Instant expired = now.minus(pendingTakeoverAfter);
+        abandonedAttempts.values().removeIf(abandonedAt -> abandonedAt.isBefore(expired));
+        abandonedAttempts.put(orderId, now);
+    }
+
+    /**
+     * The provider's answer from an earlier attempt whose outcome transaction failed, if any.
+     */
+    private PaymentResult knownProviderResult(Payment payment) {
+        PaymentResult local = unrecordedResults.get(payment.getOrderId());
+        if (local != null) {
+            return local;
         }
+        if (payment.getProviderOutcome() == null) {
+            return null;
+        }
+        return "APPROVED".equals(payment.getProviderOutcome())
+                ? PaymentResult.success(payment.getTransactionId())
+                : PaymentResult.failure(payment.getFailureReason());
+    }
 
-        return paymentRepository.save(payment);
+    /**
+     * Keeps the answer in memory for retries on this instance, and on the payment row for any
+     * instance. A failed write here is logged, not fatal: the outcome transaction still runs.
+     */
+    private void keepProviderResult(UUID orderId, UUID paymentId, PaymentResult result) {
+        unrecordedResults.put(orderId, result);
+        try {
+            transactionTemplate.executeWithoutResult(status -> paymentRepository.recordProviderResult(
+                    paymentId, result.isSuccess() ? "APPROVED" : "DECLINED",
+                    result.getTransactionId(), result.getFailureReason()));
+        } catch (RuntimeException e) {
+            log.warn("Could not store provider result for orderId={}: {}", orderId, e.getMessage());
+        }
+    }
+
+    private Payment recordOutcome(UUID paymentId, PaymentResult result) {
+        return transactionTemplate.execute(status -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new EntityNotFoundException("Payment not found: " + paymentId));
+            if (!"PENDING".equals(payment.getStatus())) {
+                return payment;
+            }
+
+            if (result.isSuccess()) {
+                payment.setStatus("COMPLETED");
+                payment.setTransactionId(result.getTransactionId());
+                log.info("Payment completed for orderId={}, txnId={}", payment.getOrderId(), result.getTransactionId());
+            } else {
+                payment.setStatus("FAILED");
+                payment.setFailureReason(result.getFailureReason());
+                log.warn("Payment failed for orderId={}: {}", payment.getOrderId(), result.getFailureReason());
+            }
+            payment = paymentRepository.save(payment);
+            paymentLedgerService.append(payment, payment.getStatus(), payment.getAmount(), payment.getTransactionId());
+            return payment;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+        completionExecutor.shutdown();
     }
 
     @Transactional(readOnly = true)
@@ -102,17 +342,24 @@ public class PaymentService {
             throw new IllegalStateException("Cannot refund payment with status: " + payment.getStatus());
         }
 
-        String refundTxnId = "REFUND-" + UUID.randomUUID();
-        payment.setStatus("REFUNDED");
-        payment.setRefundedAmount(payment.getAmount());
-        payment.setRefundTransactionId(refundTxnId);
-        payment.setRefundedAt(java.time.LocalDateTime.now());
-
+        markRefunded(payment);
         payment = paymentRepository.save(payment);
-        log.info("Refund completed for orderId={}, refundTxnId={}", orderId, refundTxnId);
+        log.info("Refund completed for orderId={}, refundTxnId={}", orderId, payment.getRefundTransactionId());
         return payment;
     }
 
+    /**
+     * Applies a full refund to a COMPLETED payment and appends its ledger entry; runs in the caller's
+     * transaction, which persists the payment.
+     */
+    public void markRefunded(Payment payment) {
+        payment.setStatus("REFUNDED");
+        payment.setRefundedAmount(payment.getAmount());
+        payment.setRefundTransactionId("REFUND-" + UUID.randomUUID());
+        payment.setRefundedAt(LocalDateTime.now());
+        paymentLedgerService.append(payment, "REFUNDED", payment.getRefundedAmount(), payment.getRefundTransactionId());
+    }
+
     private PaymentResponse mapToPaymentResponse(Payment payment) {
         return PaymentResponse.builder()
                 .id(payment.getId())
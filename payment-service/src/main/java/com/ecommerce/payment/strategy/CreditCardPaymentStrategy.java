@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Concrete Strategy: processes payments via credit card.
@@ -17,17 +18,17 @@ public class CreditCardPaymentStrategy implements PaymentStrategy {
     private static final BigDecimal CREDIT_CARD_LIMIT = new BigDecimal("10000");
 
     @Override
-    public PaymentResult process(UUID orderId, UUID userId, BigDecimal amount) {
+    public CompletableFuture<PaymentResult> process(UUID orderId, UUID userId, BigDecimal amount) {
         log.info("Processing CREDIT_CARD payment: orderId={}, amount={}", orderId, amount);
 
         if (amount.compareTo(CREDIT_CARD_LIMIT) > 0) {
             log.warn("Credit card payment declined: amount {} exceeds limit {}", amount, CREDIT_CARD_LIMIT);
-            return PaymentResult.failure("Credit card limit exceeded");
+            return CompletableFuture.completedFuture(PaymentResult.failure("Credit card limit exceeded"));
         }
 
         String transactionId = "CC-TXN-" + UUID.randomUUID();
         log.info("Credit card payment authorized: orderId={}, txnId={}", orderId, transactionId);
-        return PaymentResult.success(transactionId);
+        return CompletableFuture.completedFuture(PaymentResult.success(transactionId));
     }
 
     @Override
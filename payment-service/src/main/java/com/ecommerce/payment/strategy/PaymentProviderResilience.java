@@ -0,0 +1,106 @@
+package com.ecommerce.payment.strategy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the resilience layer around each payment provider (see {@link ResilientPaymentStrategy}).
+ *
+ * Bulkhead, circuit breaker and time limiter instances are named after the strategy's
+ * {@code getPaymentMethod()}. A provider listed under {@code resilience4j.<module>.instances} uses
+ * that entry; any other provider is created from the shared {@value #PROVIDER_CONFIG} config. The
+ * Resilience4j Micrometer binding publishes their state and call metrics tagged with that name.
+ */
+@Component
+@Slf4j
+public class PaymentProviderResilience {
+
+    static final String PROVIDER_CONFIG = "paymentProvider";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final ResilientPaymentStrategy.HedgingSettings hedgingSettings;
+
+    public PaymentProviderResilience(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${payment.hedging.enabled:true}") boolean hedgingEnabled,
+            @Value("${payment.hedging.percentile:0.95}") double percentile,
+            @Value("${payment.hedging.initial-delay:500ms}") Duration initialDelay,
+            @Value("${payment.hedging.min-delay:50ms}") Duration minDelay,
+            @Value("${payment.hedging.min-samples:100}") long minSamples,
+            @Value("${payment.hedging.max-concurrent:10}") int maxConcurrentHedges) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+        this.hedgingSettings = new ResilientPaymentStrategy.HedgingSettings(hedgingEnabled, percentile,
+                initialDelay, minDelay, minSamples, maxConcurrentHedges);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "payment-provider-timer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public PaymentStrategy decorate(PaymentStrategy strategy) {
+        String name = strategy.getPaymentMethod();
+        ResilientPaymentStrategy decorated = new ResilientPaymentStrategy(strategy,
+                bulkhead(name), circuitBreaker(name), timeLimiter(name),
+                scheduler, hedgingSettings, meterRegistry);
+        log.info("Payment provider {}: hedging {}, time limit {}", name,
+                hedgingSettings.enabled() && strategy.isIdempotent() ? "enabled" : "disabled",
+                strategy.isIdempotent() ? "enabled" : "disabled");
+        return decorated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private CircuitBreaker circuitBreaker(String name) {
+        if (circuitBreakerRegistry.find(name).isPresent()
+                || circuitBreakerRegistry.getConfiguration(PROVIDER_CONFIG).isEmpty()) {
+            return circuitBreakerRegistry.circuitBreaker(name);
+        }
+        return circuitBreakerRegistry.circuitBreaker(name, PROVIDER_CONFIG);
+    }
+
+    private Bulkhead bulkhead(String name) {
+        if (bulkheadRegistry.find(name).isPresent()
+                || bulkheadRegistry.getConfiguration(PROVIDER_CONFIG).isEmpty()) {
+            return bulkheadRegistry.bulkhead(name);
+        }
+        return bulkheadRegistry.bulkhead(name, PROVIDER_CONFIG);
+    }
+
+    private TimeLimiter timeLimiter(String name) {
+        if (timeLimiterRegistry.find(name).isPresent()
+                || timeLimiterRegistry.getConfiguration(PROVIDER_CONFIG).isEmpty()) {
+            return timeLimiterRegistry.timeLimiter(name);
+        }
+        return timeLimiterRegistry.timeLimiter(name, PROVIDER_CONFIG);
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.payment.strategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Strategy Pattern: defines a family of payment algorithms (credit card, wallet, etc.)
@@ -13,13 +14,25 @@ public interface PaymentStrategy {
     /**
      * Process a payment using this strategy's implementation.
      *
-     * @return a transaction ID on success
-     * @throws PaymentProcessingException if the payment cannot be processed
+     * Asynchronous: implementations talking to a remote provider must not block the calling thread,
+     * which may be a Kafka listener thread. A declined payment completes with a failed PaymentResult;
+     * the future completes exceptionally only when the outcome is unknown (e.g. the provider is
+     * unreachable), in which case the payment stays PENDING and may be retried.
+     *
+     * @return a future completing with the provider's result
      */
-    PaymentResult process(UUID orderId, UUID userId, BigDecimal amount);
+    CompletableFuture<PaymentResult> process(UUID orderId, UUID userId, BigDecimal amount);
 
     /**
      * Returns the payment method name this strategy handles.
      */
     String getPaymentMethod();
+
+    /**
+     * Whether repeated calls for the same orderId are charged at most once (the provider dedupes on
+     * the order id as idempotency key). Only such strategies get hedged attempts.
+     */
+    default boolean isIdempotent() {
+        return false;
+    }
 }
@@ -4,22 +4,24 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Factory Pattern: resolves the correct PaymentStrategy based on the payment method name.
  * Uses Spring's dependency injection to collect all PaymentStrategy beans automatically,
  * so adding a new strategy only requires creating a new @Component — no factory changes needed.
+ *
+ * Every strategy is handed out wrapped in its resilience layer (bulkhead, circuit breaker,
+ * timeout, hedging — see {@link ResilientPaymentStrategy}).
  */
 @Component
 public class PaymentStrategyFactory {
 
     private final Map<String, PaymentStrategy> strategies;
 
-    public PaymentStrategyFactory(List<PaymentStrategy> strategyList) {
+    public PaymentStrategyFactory(List<PaymentStrategy> strategyList, PaymentProviderResilience resilience) {
         this.strategies = strategyList.stream()
-                .collect(Collectors.toMap(PaymentStrategy::getPaymentMethod, Function.identity()));
+                .collect(Collectors.toMap(PaymentStrategy::getPaymentMethod, resilience::decorate));
     }
 
     public PaymentStrategy getStrategy(String paymentMethod) {
@@ -0,0 +1,222 @@
+package com.ecommerce.payment.strategy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorator adding isolation and tail-latency control to one payment provider.
+ *
+ * Every attempt passes a semaphore bulkhead (never waits — a full bulkhead fails the attempt),
+ * the circuit breaker and, for idempotent providers, the time limiter. Declines are business
+ * outcomes and count as successful calls; only exceptions and timeouts count against the breaker.
+ *
+ * Non-idempotent providers are never time-limited: a timed-out call may still charge, and its late
+ * answer would be lost, so the re-driven payment would charge again. Their calls always run to the
+ * provider's answer.
+ *
+ * Hedging (idempotent providers only): if the first attempt has not answered after the provider's
+ * observed latency percentile (p95 by default), one more attempt is sent and whichever answers
+ * first wins. Until enough samples exist the configured initial delay is used. Hedges in flight
+ * per provider are capped; over the cap the call simply waits for the first attempt.
+ *
+ * Metrics, tagged with {@code method}: {@code payment.provider.latency} (histogram),
+ * {@code payment.provider.calls} by outcome, {@code payment.provider.hedges} by outcome.
+ */
+@Slf4j
+public class ResilientPaymentStrategy implements PaymentStrategy {
+
+    record HedgingSettings(boolean enabled, double percentile, Duration initialDelay, Duration minDelay,
+                           long minSamples, int maxConcurrentHedges) {
+    }
+
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final PaymentStrategy delegate;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ScheduledExecutorService scheduler;
+    private final HedgingSettings hedging;
+    private final boolean hedged;
+    private final boolean timeLimited;
+    private final Semaphore hedgePermits;
+
+    private final Timer latency;
+    private final Counter approved;
+    private final Counter declined;
+    private final Counter errors;
+    private final Counter rejected;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayComputedAt;
+
+    ResilientPaymentStrategy(PaymentStrategy delegate, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                             TimeLimiter timeLimiter, ScheduledExecutorService scheduler,
+                             HedgingSettings hedging, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+        this.timeLimiter = timeLimiter;
+        this.scheduler = scheduler;
+        this.hedging = hedging;
+        this.hedged = hedging.enabled() && delegate.isIdempotent();
+        this.timeLimited = delegate.isIdempotent();
+        this.hedgePermits = new Semaphore(hedging.maxConcurrentHedges());
+        this.hedgeDelayNanos = hedging.initialDelay().toNanos();
+        this.hedgeDelayComputedAt = System.nanoTime();
+
+        String method = delegate.getPaymentMethod();
+        this.latency = Timer.builder("payment.provider.latency")
+                .tag("method", method)
+                .publishPercentiles(0.5, hedging.percentile(), 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.approved = meterRegistry.counter("payment.provider.calls", "method", method, "outcome", "approved");
+        this.declined = meterRegistry.counter("payment.provider.calls", "method", method, "outcome", "declined");
+        this.errors = meterRegistry.counter("payment.provider.calls", "method", method, "outcome", "error");
+        this.rejected = meterRegistry.counter("payment.provider.calls", "method", method, "outcome", "rejected");
+        this.hedgesSent = meterRegistry.counter("payment.provider.hedges", "method", method, "outcome", "sent");
+        this.hedgesWon = meterRegistry.counter("payment.provider.hedges", "method", method, "outcome", "won");
+        this.hedgesSkipped = meterRegistry.counter("payment.provider.hedges", "method", method, "outcome", "capped");
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> process(UUID orderId, UUID userId, BigDecimal amount) {
+        CompletableFuture<PaymentResult> primary = attempt(orderId, userId, amount);
+        if (!hedged || primary.isDone()) {
+            return primary;
+        }
+
+        CompletableFuture<PaymentResult> outcome = new CompletableFuture<>();
+        AtomicInteger pendingAttempts = new AtomicInteger(1);
+        primary.whenComplete((result, error) -> settle(outcome, pendingAttempts, result, error, false));
+
+        ScheduledFuture<?> hedgeTimer = scheduler.schedule(() -> {
+            if (outcome.isDone()) {
+                return;
+            }
+            if (!hedgePermits.tryAcquire()) {
+                hedgesSkipped.increment();
+                return;
+            }
+            hedgesSent.increment();
+            pendingAttempts.incrementAndGet();
+            log.debug("Hedging {} payment for orderId={}", getPaymentMethod(), orderId);
+            attempt(orderId, userId, amount).whenComplete((result, error) -> {
+                hedgePermits.release();
+                settle(outcome, pendingAttempts, result, error, true);
+            });
+        }, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        outcome.whenComplete((result, error) -> hedgeTimer.cancel(false));
+        return outcome;
+    }
+
+    @Override
+    public String getPaymentMethod() {
+        return delegate.getPaymentMethod();
+    }
+
+    @Override
+    public boolean isIdempotent() {
+        return delegate.isIdempotent();
+    }
+
+    /**
+     * First answer wins; the call fails only once every attempt has failed.
+     */
+    private void settle(CompletableFuture<PaymentResult> outcome, AtomicInteger pendingAttempts,
+                        PaymentResult result, Throwable error, boolean hedge) {
+        if (error == null) {
+            if (outcome.complete(result) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (pendingAttempts.decrementAndGet() == 0) {
+            outcome.completeExceptionally(error);
+        }
+    }
+
+    private CompletableFuture<PaymentResult> attempt(UUID orderId, UUID userId, BigDecimal amount) {
+        if (!bulkhead.tryAcquirePermission()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            rejected.increment();
+            return CompletableFuture.failedFuture(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<PaymentResult> call = timeLimited
+                ? timeLimiter.executeCompletionStage(scheduler, () -> invokeDelegate(orderId, userId, amount))
+                        .toCompletableFuture()
+                : invokeDelegate(orderId, userId, amount);
+        return call.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            bulkhead.onComplete();
+            if (error == null) {
+                circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                latency.record(elapsed, TimeUnit.NANOSECONDS);
+                (result.isSuccess() ? approved : declined).increment();
+            } else {
+                circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, unwrap(error));
+                errors.increment();
+            }
+        });
+    }
+
+    private CompletableFuture<PaymentResult> invokeDelegate(UUID orderId, UUID userId, BigDecimal amount) {
+        try {
+            return delegate.process(orderId, userId, amount);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The provider's latency at the hedging percentile, recomputed at most once a second.
+     */
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayComputedAt < HEDGE_DELAY_REFRESH_NANOS) {
+            return hedgeDelayNanos;
+        }
+        hedgeDelayComputedAt = now;
+        if (latency.count() < hedging.minSamples()) {
+            return hedgeDelayNanos;
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == hedging.percentile() && value.value() > 0) {
+                hedgeDelayNanos = Math.max(hedging.minDelay().toNanos(), (long) value.value(TimeUnit.NANOSECONDS));
+                break;
+            }
+        }
+        return hedgeDelayNanos;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
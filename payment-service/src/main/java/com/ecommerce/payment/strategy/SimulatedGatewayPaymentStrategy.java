@@ -0,0 +1,95 @@
+package com.ecommerce.payment.strategy;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for a remote payment gateway, for load and latency testing.
+ *
+ * Each call answers after a random delay between {@code min-latency} and {@code max-latency}; a
+ * {@code decline-rate} share of calls is declined and an {@code error-rate} share fails with an
+ * exception (outcome unknown). Delays are timer-driven, so no thread is blocked while "waiting"
+ * on the provider — like a real non-blocking HTTP client.
+ *
+ * Enabled with {@code payment.simulated-gateway.enabled=true}; select it for order payments with
+ * {@code payment.default-method=SIMULATED_GATEWAY}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.simulated-gateway", name = "enabled", havingValue = "true")
+@Slf4j
+public class SimulatedGatewayPaymentStrategy implements PaymentStrategy {
+
+    public static final String PAYMENT_METHOD = "SIMULATED_GATEWAY";
+
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+    private final double declineRate;
+    private final double errorRate;
+    private final ScheduledExecutorService timer;
+
+    public SimulatedGatewayPaymentStrategy(
+            @Value("${payment.simulated-gateway.min-latency:200ms}") Duration minLatency,
+            @Value("${payment.simulated-gateway.max-latency:800ms}") Duration maxLatency,
+            @Value("${payment.simulated-gateway.decline-rate:0.0}") double declineRate,
+            @Value("${payment.simulated-gateway.error-rate:0.0}") double errorRate) {
+        this.minLatencyMs = minLatency.toMillis();
+        this.maxLatencyMs = Math.max(minLatencyMs, maxLatency.toMillis());
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulated-payment-gateway");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> process(UUID orderId, UUID userId, BigDecimal amount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latencyMs = minLatencyMs + (maxLatencyMs > minLatencyMs ? random.nextLong(maxLatencyMs - minLatencyMs + 1) : 0);
+        double roll = random.nextDouble();
+        log.debug("Simulated gateway call: orderId={}, amount={}, latency={}ms", orderId, amount, latencyMs);
+
+        CompletableFuture<PaymentResult> response = new CompletableFuture<>();
+        timer.schedule(() -> {
+            if (roll < errorRate) {
+                response.completeExceptionally(new IllegalStateException("Simulated gateway error"));
+            } else if (roll < errorRate + declineRate) {
+                response.complete(PaymentResult.failure("Declined by simulated gateway"));
+            } else {
+                response.complete(PaymentResult.success("SIM-TXN-" + UUID.randomUUID()));
+            }
+        }, latencyMs, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    @Override
+    public String getPaymentMethod() {
+        return PAYMENT_METHOD;
+    }
+
+    /**
+     * Charges nothing, so duplicate attempts are harmless; lets the hedging path be exercised.
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Concrete Strategy: processes payments via digital wallet.
@@ -17,17 +18,17 @@ public class WalletPaymentStrategy implements PaymentStrategy {
     private static final BigDecimal WALLET_BALANCE_LIMIT = new BigDecimal("5000");
 
     @Override
-    public PaymentResult process(UUID orderId, UUID userId, BigDecimal amount) {
+    public CompletableFuture<PaymentResult> process(UUID orderId, UUID userId, BigDecimal amount) {
         log.info("Processing WALLET payment: orderId={}, userId={}, amount={}", orderId, userId, amount);
 
         if (amount.compareTo(WALLET_BALANCE_LIMIT) > 0) {
             log.warn("Wallet payment declined: amount {} exceeds balance {}", amount, WALLET_BALANCE_LIMIT);
-            return PaymentResult.failure("Insufficient wallet balance");
+            return CompletableFuture.completedFuture(PaymentResult.failure("Insufficient wallet balance"));
         }
 
         String transactionId = "WALLET-TXN-" + UUID.randomUUID();
         log.info("Wallet payment completed: orderId={}, txnId={}", orderId, transactionId);
-        return PaymentResult.success(transactionId);
+        return CompletableFuture.completedFuture(PaymentResult.success(transactionId));
     }
 
     @Override
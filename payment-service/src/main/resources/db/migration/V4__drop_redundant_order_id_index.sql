@@ -0,0 +1,3 @@
+-- order_id is declared UNIQUE, so payments_order_id_key already indexes it; this one only cost writes.
+-- The unique constraint is also the arbiter for insert-first idempotency (ON CONFLICT (order_id)).
+DROP INDEX IF EXISTS idx_payments_order_id;
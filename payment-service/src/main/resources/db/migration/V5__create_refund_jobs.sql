@@ -0,0 +1,30 @@
+CREATE TABLE refund_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    status VARCHAR(20) NOT NULL,
+    reason VARCHAR(500),
+    total_orders INT NOT NULL DEFAULT 0,
+    processed_orders INT NOT NULL DEFAULT 0,
+    refunded_orders INT NOT NULL DEFAULT 0,
+    skipped_orders INT NOT NULL DEFAULT 0,
+    failed_orders INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_refund_jobs_status ON refund_jobs(status, updated_at);
+
+-- One row per order in a job; the item status is the job's checkpoint
+CREATE TABLE refund_job_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_id UUID NOT NULL REFERENCES refund_jobs(id),
+    order_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    refund_transaction_id VARCHAR(100),
+    failure_reason VARCHAR(500),
+    updated_at TIMESTAMP,
+    CONSTRAINT uq_refund_job_items_job_order UNIQUE (job_id, order_id)
+);
+
+CREATE INDEX idx_refund_job_items_pending ON refund_job_items(job_id, id) WHERE status = 'PENDING';
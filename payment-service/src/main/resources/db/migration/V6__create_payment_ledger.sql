@@ -0,0 +1,63 @@
+-- Append-only history of payment state transitions. payments keeps the current state; reporting and
+-- reconciliation read this table instead, pruned to the months they cover.
+CREATE TABLE payment_ledger (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    payment_id UUID NOT NULL,
+    order_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(12,2) NOT NULL,
+    transaction_id VARCHAR(100),
+    recorded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, recorded_at)
+) PARTITION BY RANGE (recorded_at);
+
+-- Only catches rows if partition maintenance has fallen behind; a month with rows here can no longer
+-- be given its own partition until they are moved
+CREATE TABLE payment_ledger_default PARTITION OF payment_ledger DEFAULT;
+
+-- Entries arrive in time order, so a BRIN index on recorded_at stays tiny and still skips most blocks
+CREATE INDEX idx_payment_ledger_recorded_at ON payment_ledger USING BRIN (recorded_at);
+CREATE INDEX idx_payment_ledger_payment_id ON payment_ledger (payment_id, recorded_at);
+
+-- Creates the monthly partitions from from_month up to months_ahead months after the current one
+CREATE OR REPLACE FUNCTION ensure_payment_ledger_partitions(from_month DATE, months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', from_month)::date;
+    last_start DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    WHILE partition_start <= last_start LOOP
+        partition_name := 'payment_ledger_' || to_char(partition_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF payment_ledger FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, partition_start, (partition_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        partition_start := (partition_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_payment_ledger_partitions(COALESCE((SELECT MIN(created_at) FROM payments), now())::date, 3);
+
+-- Backfill from the current rows. The completion time of payments refunded since is no longer known;
+-- their creation time stands in for it.
+INSERT INTO payment_ledger (payment_id, order_id, user_id, entry_type, amount, recorded_at)
+SELECT id, order_id, user_id, 'PENDING', amount, created_at FROM payments;
+
+INSERT INTO payment_ledger (payment_id, order_id, user_id, entry_type, amount, transaction_id, recorded_at)
+SELECT id, order_id, user_id, 'COMPLETED', amount, transaction_id,
+       CASE WHEN status = 'COMPLETED' THEN updated_at ELSE created_at END
+FROM payments WHERE status IN ('COMPLETED', 'REFUNDED');
+
+INSERT INTO payment_ledger (payment_id, order_id, user_id, entry_type, amount, recorded_at)
+SELECT id, order_id, user_id, 'FAILED', amount, updated_at FROM payments WHERE status = 'FAILED';
+
+INSERT INTO payment_ledger (payment_id, order_id, user_id, entry_type, amount, transaction_id, recorded_at)
+SELECT id, order_id, user_id, 'REFUNDED', COALESCE(refunded_amount, amount), refund_transaction_id,
+       COALESCE(refunded_at, updated_at)
+FROM payments WHERE status = 'REFUNDED';
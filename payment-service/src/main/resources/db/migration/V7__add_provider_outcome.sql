@@ -0,0 +1,3 @@
+-- Provider answer for a PENDING payment (APPROVED / DECLINED), written as soon as the provider
+-- responds so a retry can finish the payment without charging again.
+ALTER TABLE payments ADD COLUMN provider_outcome VARCHAR(20);
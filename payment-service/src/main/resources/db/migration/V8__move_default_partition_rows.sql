@@ -0,0 +1,47 @@
+-- ensure_payment_ledger_partitions, now also for months whose rows landed in payment_ledger_default
+-- while maintenance was behind. Postgres refuses to create a partition whose range the default
+-- partition already holds rows for, so for such a month the default is detached, the partition
+-- created, the rows moved into it and the default re-attached. The detach locks the ledger until the
+-- calling transaction commits, so no entry can be written while the default is missing.
+-- Months start from the oldest row in the default partition when that is before from_month.
+CREATE OR REPLACE FUNCTION ensure_payment_ledger_partitions(from_month DATE, months_ahead INT)
+RETURNS INT AS $$
+DECLARE
+    oldest_default DATE := (SELECT date_trunc('month', MIN(recorded_at))::date FROM payment_ledger_default);
+    partition_start DATE := LEAST(date_trunc('month', from_month)::date, oldest_default);
+    last_start DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_end DATE;
+    partition_name TEXT;
+    moved BIGINT;
+    created INT := 0;
+BEGIN
+    WHILE partition_start <= last_start LOOP
+        partition_end := (partition_start + INTERVAL '1 month')::date;
+        partition_name := 'payment_ledger_' || to_char(partition_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            IF EXISTS (SELECT 1 FROM payment_ledger_default
+                       WHERE recorded_at >= partition_start AND recorded_at < partition_end) THEN
+                ALTER TABLE payment_ledger DETACH PARTITION payment_ledger_default;
+                EXECUTE format('CREATE TABLE %I PARTITION OF payment_ledger FOR VALUES FROM (%L) TO (%L)',
+                               partition_name, partition_start, partition_end);
+                INSERT INTO payment_ledger (id, payment_id, order_id, user_id, entry_type, amount,
+                                            transaction_id, recorded_at)
+                SELECT id, payment_id, order_id, user_id, entry_type, amount, transaction_id, recorded_at
+                FROM payment_ledger_default
+                WHERE recorded_at >= partition_start AND recorded_at < partition_end;
+                GET DIAGNOSTICS moved = ROW_COUNT;
+                DELETE FROM payment_ledger_default
+                WHERE recorded_at >= partition_start AND recorded_at < partition_end;
+                ALTER TABLE payment_ledger ATTACH PARTITION payment_ledger_default DEFAULT;
+                RAISE NOTICE 'Moved % rows from payment_ledger_default into %', moved, partition_name;
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF payment_ledger FOR VALUES FROM (%L) TO (%L)',
+                               partition_name, partition_start, partition_end);
+            END IF;
+            created := created + 1;
+        END IF;
+        partition_start := partition_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
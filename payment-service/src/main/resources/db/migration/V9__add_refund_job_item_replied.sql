@@ -0,0 +1,5 @@
+-- Set once the item's reply is on bulk-refund-replies; replies are only sent after the chunk commits
+ALTER TABLE refund_job_items ADD COLUMN replied BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_refund_job_items_unreplied ON refund_job_items(job_id, id)
+    WHERE status <> 'PENDING' AND NOT replied;
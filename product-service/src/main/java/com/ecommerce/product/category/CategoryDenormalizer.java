@@ -0,0 +1,125 @@
+package com.ecommerce.product.category;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductChangePublisher;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the Category copies embedded in Product documents in line with the categories collection.
+ *
+ * A change is applied with one updateMulti on {@code category._id} on a background thread, so the
+ * category write returns immediately and product reads never need a join. Once the update lands,
+ * product caches are cleared, the search index is rebuilt and a catalog change is announced so the
+ * new name is served everywhere.
+ *
+ * Until other replicas have reloaded their CategoryRegistry (on that announcement, or at the latest on
+ * its periodic reload) they may still embed the old name in products they write. The update is
+ * therefore repeated for copies that still differ: {@code product.category.repair-after} after the
+ * announcement, and again once the registry refresh interval has passed as well.
+ * Updates run one at a time, in the order they were submitted.
+ */
+@Component
+@Slf4j
+public class CategoryDenormalizer {
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductChangePublisher productChangePublisher;
+    private final Duration repairAfter;
+    private final Duration registryRefreshInterval;
+    private final ScheduledExecutorService worker;
+
+    public CategoryDenormalizer(MongoTemplate mongoTemplate, CacheManager cacheManager,
+                                ProductSearchIndex productSearchIndex,
+                                ProductChangePublisher productChangePublisher,
+                                @Value("${product.category.repair-after:5s}") Duration repairAfter,
+                                @Value("${product.category.registry.refresh-interval-ms:60000}") long registryRefreshIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.productSearchIndex = productSearchIndex;
+        this.productChangePublisher = productChangePublisher;
+        this.repairAfter = repairAfter;
+        this.registryRefreshInterval = Duration.ofMillis(registryRefreshIntervalMs);
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "category-denormalizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void propagate(Category category) {
+        worker.execute(() -> {
+            try {
+                apply(category, new Query(Criteria.where("category.id").is(category.getId())));
+            } catch (RuntimeException e) {
+                log.error("Failed to propagate category {} to products: {}", category.getId(), e.getMessage());
+            }
+        });
+        scheduleRepair(category.getId(), repairAfter);
+        scheduleRepair(category.getId(), repairAfter.plus(registryRefreshInterval));
+    }
+
+    /**
+     * Re-applies the current category to products still embedding another name; a no-op when none do.
+     */
+    private void scheduleRepair(String categoryId, Duration delay) {
+        worker.schedule(() -> {
+            try {
+                Category current = mongoTemplate.findById(categoryId, Category.class);
+                if (current == null) {
+                    return;
+                }
+                Query stale = new Query(Criteria.where("category.id").is(categoryId)
+                        .and("category.name").ne(current.getName()));
+                if (mongoTemplate.exists(stale, Product.class)) {
+                    apply(current, stale);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to repair category {} on products: {}", categoryId, e.getMessage());
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void apply(Category category, Query products) {
+        long start = System.nanoTime();
+        UpdateResult result = mongoTemplate.updateMulti(products, new Update().set("category", category), Product.class);
+
+        clearCache(CacheNames.PRODUCTS);
+        clearCache(CacheNames.PRODUCT_BY_ID);
+        productSearchIndex.rebuild();
+        productChangePublisher.catalogChanged();
+        log.info("Propagated category {} ('{}') to {} products in {} ms", category.getId(), category.getName(),
+                result.getModifiedCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
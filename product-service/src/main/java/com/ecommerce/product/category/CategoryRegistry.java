@@ -0,0 +1,140 @@
+package com.ecommerce.product.category;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the (small, rarely changing) categories collection.
+ *
+ * Product writes resolve category names here instead of running a case-insensitive
+ * {@code findByNameIgnoreCase} query each time; the database is only touched when a name is not
+ * known yet. Loaded at startup, updated on local category changes, and reloaded whenever a catalog
+ * change ({@link CacheNames#ALL_PRODUCTS}) is announced, so a rename made through another replica is
+ * picked up within moments. The periodic reload covers announcements this replica missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryRegistry implements MessageListener {
+
+    private final CategoryRepository categoryRepository;
+
+    /** Lower-cased name → category. */
+    private volatile Map<String, Category> byName = new ConcurrentHashMap<>();
+    private volatile Map<String, Category> byId = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(initialDelayString = "${product.category.registry.refresh-interval-ms:60000}",
+            fixedDelayString = "${product.category.registry.refresh-interval-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Category registry reload failed, keeping current entries: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (CacheNames.ALL_PRODUCTS.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            scheduledReload();
+        }
+    }
+
+    public synchronized void reload() {
+        List<Category> categories = categoryRepository.findAll();
+        Map<String, Category> freshByName = new ConcurrentHashMap<>();
+        Map<String, Category> freshById = new ConcurrentHashMap<>();
+        for (Category category : categories) {
+            freshByName.put(key(category.getName()), category);
+            freshById.put(category.getId(), category);
+        }
+        byName = freshByName;
+        byId = freshById;
+        log.info("Category registry loaded: {} categories", categories.size());
+    }
+
+    public Optional<Category> findByName(String name) {
+        return Optional.ofNullable(byName.get(key(name)));
+    }
+
+    public Optional<Category> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Collection<Category> all() {
+        return byId.values();
+    }
+
+    /**
+     * Returns the category with this name (case-insensitive), creating it if it does not exist.
+     * Only a name missing from the registry costs a database round trip.
+     */
+    public Category resolveOrCreate(String name) {
+        Category known = byName.get(key(name));
+        if (known != null) {
+            return known;
+        }
+        synchronized (this) {
+            known = byName.get(key(name));
+            if (known != null) {
+                return known;
+            }
+            Category category = categoryRepository.findByNameIgnoreCase(name)
+                    .orElseGet(() -> create(name));
+            register(category);
+            return category;
+        }
+    }
+
+    /**
+     * Replaces a category after it was saved, dropping its previous name.
+     */
+    public synchronized void update(Category category) {
+        Category previous = byId.get(category.getId());
+        if (previous != null) {
+            byName.remove(key(previous.getName()), previous);
+        }
+        register(category);
+    }
+
+    private Category create(String name) {
+        try {
+            return categoryRepository.save(Category.builder().name(name).build());
+        } catch (DuplicateKeyException e) {
+            // Created concurrently by another replica
+            return categoryRepository.findByNameIgnoreCase(name).orElseThrow(() -> e);
+        }
+    }
+
+    private void register(Category category) {
+        byName.put(key(category.getName()), category);
+        byId.put(category.getId(), category);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
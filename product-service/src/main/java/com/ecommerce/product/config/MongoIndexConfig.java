@@ -10,6 +10,8 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.TextIndexDefinition;
 
+import java.util.List;
+
 /**
  * Programmatic MongoDB index creation.
  * Ensures indexes exist on startup for query performance and uniqueness constraints.
@@ -37,6 +39,16 @@ public class MongoIndexConfig {
                         .onField("name")
                         .build());
 
+        // Keyset listing indexes: (sort field, _id), with and without the category equality prefix
+        for (String sortField : List.of("name", "price", "createdAt")) {
+            mongoTemplate.indexOps(Product.class)
+                    .ensureIndex(new Index().on(sortField, Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+            mongoTemplate.indexOps(Product.class)
+                    .ensureIndex(new Index().on("category.name", Sort.Direction.ASC)
+                            .on(sortField, Sort.Direction.ASC)
+                            .on("_id", Sort.Direction.ASC));
+        }
+
         log.info("MongoDB indexes created for products collection");
     }
 }
@@ -0,0 +1,39 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.entity.Product;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+/**
+ * Converts product prices written as strings (before Product.price was mapped to Decimal128)
+ * in place, so price sorts and keyset cursors see one numeric type across the collection.
+ * Idempotent: once nothing is stored as a string the update matches no documents.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class ProductPriceMigration {
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void convertStringPrices() {
+        Query stringPrices = new Query(Criteria.where("price").type(JsonSchemaObject.Type.STRING));
+        AggregationUpdate toDecimal = AggregationUpdate.update()
+                .set("price").toValue(ConvertOperators.ToDecimal.toDecimal("$price"));
+
+        UpdateResult result = mongoTemplate.updateMulti(stringPrices, toDecimal, Product.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Converted {} product prices from string to Decimal128", result.getModifiedCount());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.product.category.CategoryRegistry;
+import com.ecommerce.product.search.ProductSearchIndexSync;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes the search index and the category registry to catalog change announcements from all
+ * product-service replicas.
+ */
+@Configuration
+public class SearchIndexSyncConfig {
+
+    @Bean
+    public RedisMessageListenerContainer productChangesListenerContainer(
+            RedisConnectionFactory connectionFactory, ProductSearchIndexSync productSearchIndexSync,
+            CategoryRegistry categoryRegistry) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        ChannelTopic productChanges = new ChannelTopic(CacheNames.PRODUCT_CHANGES_CHANNEL);
+        container.addMessageListener(productSearchIndexSync, productChanges);
+        container.addMessageListener(categoryRegistry, productChanges);
+        return container;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.common.dto.CategoryRequest;
+import com.ecommerce.common.dto.CategoryResponse;
+import com.ecommerce.common.security.RoleGuard;
+import com.ecommerce.common.security.SecurityConstants;
+import com.ecommerce.product.service.CategoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+@Tag(name = "Categories", description = "Product category management")
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    @GetMapping
+    @Operation(summary = "Get all categories")
+    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+        return ResponseEntity.ok(categoryService.getAllCategories());
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update or rename a category (ADMIN only)",
+            description = "Products embedding the category are updated in the background")
+    public ResponseEntity<CategoryResponse> updateCategory(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @PathVariable String id, @Valid @RequestBody CategoryRequest request) {
+        RoleGuard.requireAdminOrService(role);
+        return ResponseEntity.ok(categoryService.updateCategory(id, request));
+    }
+}
@@ -1,7 +1,12 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.common.dto.ProductCursorPage;
+import com.ecommerce.common.dto.ProductImportResult;
 import com.ecommerce.common.dto.ProductRequest;
 import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.security.RoleGuard;
+import com.ecommerce.common.security.SecurityConstants;
+import com.ecommerce.product.service.ProductImportService;
 import com.ecommerce.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,11 +14,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
@@ -21,9 +32,11 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @GetMapping
-    @Operation(summary = "Get all products with optional filters and pagination")
+    @Operation(summary = "Get all products with optional filters and pagination",
+            description = "Name matches word prefixes and is ranked by relevance unless a sort is given")
     public ResponseEntity<Page<ProductResponse>> getAllProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
@@ -31,6 +44,25 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts(name, category, pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "List products with cursor (keyset) pagination",
+            description = "Sorted by name, price or createdAt; omits descriptions and total counts. "
+                    + "Pass nextCursor back as cursor to fetch the following page")
+    public ResponseEntity<ProductCursorPage> getProductListing(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.getProductListing(category, sort, direction, cursor, size));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Get product counts per category for an optional name query")
+    public ResponseEntity<Map<String, Long>> getCategoryFacets(@RequestParam(required = false) String name) {
+        return ResponseEntity.ok(productService.getCategoryFacets(name));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable String id) {
@@ -43,6 +75,20 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(productService.createProduct(request));
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "Bulk import products from NDJSON or CSV (ADMIN only)",
+            description = "Rows are streamed and inserted in chunks; existing or repeated SKUs are skipped "
+                    + "as duplicates and invalid rows are reported without failing the import")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        RoleGuard.requireAdminOrService(role);
+        ProductImportService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a product (ADMIN only)")
     public ResponseEntity<ProductResponse> updateProduct(
@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -38,6 +40,8 @@ public class Product {
 
     private String description;
 
+    /** Stored as Decimal128 so sorts and range queries compare numerically, not as strings. */
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal price;
 
     @Indexed(unique = true)
@@ -0,0 +1,39 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.common.cache.CacheNames;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces catalog changes on {@link CacheNames#PRODUCT_CHANGES_CHANNEL} so the gateway's edge
+ * cache can drop affected responses. Best-effort: if publishing fails, edge entries simply live
+ * until their TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangePublisher {
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void productChanged(String productId) {
+        publish(productId);
+    }
+
+    /**
+     * For changes touching many products at once (bulk import, category rename).
+     */
+    public void catalogChanged() {
+        publish(CacheNames.ALL_PRODUCTS);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CacheNames.PRODUCT_CHANGES_CHANNEL, message);
+        } catch (Exception e) {
+            log.warn("Failed to publish product change {}: {}", message, e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.product.mapper;
 
 import com.ecommerce.common.dto.ProductRequest;
 import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.dto.ProductSummaryResponse;
 import com.ecommerce.product.entity.Product;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +27,18 @@ public class ProductMapper {
                 .build();
     }
 
+    public ProductSummaryResponse toSummary(Product product) {
+        return ProductSummaryResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .sku(product.getSku())
+                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .imageUrl(product.getImageUrl())
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+
     public Product toEntity(ProductRequest request) {
         return Product.builder()
                 .name(request.getName())
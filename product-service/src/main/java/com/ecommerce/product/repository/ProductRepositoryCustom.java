@@ -0,0 +1,19 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Product;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Custom query fragment for keyset (seek) pagination over the products collection.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} products ordered by ({@code sortField}, _id), strictly after the
+     * given position, without the description field. A null {@code afterId} starts from the beginning.
+     */
+    List<Product> findListingPage(String categoryName, String sortField, Sort.Direction direction,
+                                  Object afterValue, String afterId, int limit);
+}
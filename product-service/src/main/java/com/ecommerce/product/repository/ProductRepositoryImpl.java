@@ -0,0 +1,48 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Product;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Product> findListingPage(String categoryName, String sortField, Sort.Direction direction,
+                                         Object afterValue, String afterId, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (categoryName != null) {
+            filters.add(Criteria.where("category.name").is(categoryName));
+        }
+        if (afterId != null) {
+            // price is stored as Decimal128: compare against the same type the (price, _id) index orders by
+            Object boundary = afterValue instanceof BigDecimal price ? new Decimal128(price) : afterValue;
+            // (sortField, _id) > (boundary, afterId) in the requested direction
+            Criteria beyondValue = direction.isAscending()
+                    ? Criteria.where(sortField).gt(boundary)
+                    : Criteria.where(sortField).lt(boundary);
+            Criteria sameValueBeyondId = direction.isAscending()
+                    ? Criteria.where(sortField).is(boundary).and("_id").gt(afterId)
+                    : Criteria.where(sortField).is(boundary).and("_id").lt(afterId);
+            filters.add(new Criteria().orOperator(beyondValue, sameValueBeyondId));
+        }
+
+        Query query = filters.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(filters));
+        query.with(Sort.by(direction, sortField, "_id")).limit(limit);
+        query.fields().exclude("description");
+
+        return mongoTemplate.find(query, Product.class);
+    }
+}
@@ -0,0 +1,387 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the product catalog, replacing the unanchored $regex scan
+ * in {@code ProductRepository.findByFilters} for catalog search.
+ *
+ * Structure:
+ * - term index: lower-cased name tokens in a sorted map, so a query token matches every term it prefixes
+ * - category facets: lower-cased category name → product ids
+ * - documents: product id → indexed entry holding the ready-to-serve ProductResponse
+ *
+ * Built from Mongo at startup and updated incrementally by ProductService on create/update/delete.
+ * Changes made through other replicas arrive via ProductSearchIndexSync; a periodic rebuild
+ * repairs anything missed (e.g. a dropped pub/sub message).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final double EXACT_TERM_SCORE = 2.0;
+    private static final double PREFIX_TERM_SCORE = 1.0;
+    private static final double NAME_PREFIX_BOOST = 1.5;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductMapper productMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private Segment segment = new Segment();
+    /** Incremental updates applied while a rebuild runs, replayed onto the new segment; guarded by lock. */
+    private List<Mutation> journal;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${product.search.index.rebuild-interval-ms:300000}",
+            fixedDelayString = "${product.search.index.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Product search index rebuild failed, keeping current index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from Mongo off-lock, then swaps it in atomically. Incremental updates
+     * landing during the build are journaled and replayed onto the new segment before the swap, so
+     * the rebuild never reverts them. Rebuilds run one at a time.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildExclusively();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildExclusively() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        boolean built = false;
+        int replayed;
+        try {
+            try (Stream<Product> products = mongoTemplate.stream(new Query(), Product.class)) {
+                products.forEach(product -> fresh.add(toEntry(product)));
+            }
+            built = true;
+        } finally {
+            // Replay and swap under one write lock, so no update can slip in between
+            lock.writeLock().lock();
+            try {
+                replayed = journal.size();
+                if (built) {
+                    journal.forEach(mutation -> mutation.applyTo(fresh));
+                    segment = fresh;
+                }
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        ready = true;
+        log.info("Product search index built: {} products, {} terms, {} categories in {} ms ({} updates replayed)",
+                fresh.documents.size(), fresh.terms.size(), fresh.categories.size(),
+                (System.nanoTime() - start) / 1_000_000, replayed);
+    }
+
+    public void index(Product product) {
+        Mutation mutation = new Mutation(product.getId(), toEntry(product));
+        lock.writeLock().lock();
+        try {
+            mutation.applyTo(segment);
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        Mutation mutation = new Mutation(productId, null);
+        lock.writeLock().lock();
+        try {
+            mutation.applyTo(segment);
+            if (journal != null) {
+                journal.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches by name tokens (each query token matches as a prefix, all tokens must match) and
+     * by case-insensitive category substring. With a name query and no explicit sort, results are
+     * ranked by relevance; otherwise the requested sort (default: name) applies.
+     */
+    public Page<ProductResponse> search(String name, String category, Pageable pageable) {
+        List<String> queryTokens = tokenize(name);
+        List<ScoredProduct> matches;
+
+        lock.readLock().lock();
+        try {
+            matches = match(queryTokens, category);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator(pageable.getSort(), !queryTokens.isEmpty()));
+
+        int total = matches.size();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches.stream().map(m -> m.entry().response()).toList(), pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        List<ProductResponse> content = matches.subList(from, to).stream()
+                .map(m -> m.entry().response())
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Product counts per category for the products matching the name query.
+     */
+    public Map<String, Long> categoryFacets(String name) {
+        List<String> queryTokens = tokenize(name);
+        Map<String, Long> facets = new TreeMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (ScoredProduct match : match(queryTokens, null)) {
+                String categoryName = match.entry().response().getCategoryName();
+                if (categoryName != null) {
+                    facets.merge(categoryName, 1L, Long::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    private List<ScoredProduct> match(List<String> queryTokens, String category) {
+        Set<String> categoryIds = category == null || category.isBlank()
+                ? null
+                : segment.idsInCategoriesContaining(category.toLowerCase(Locale.ROOT));
+
+        if (queryTokens.isEmpty()) {
+            Collection<String> ids = categoryIds != null ? categoryIds : segment.documents.keySet();
+            List<ScoredProduct> all = new ArrayList<>(ids.size());
+            ids.forEach(id -> all.add(new ScoredProduct(segment.documents.get(id), 0)));
+            return all;
+        }
+
+        // Accumulate per-document scores token by token, keeping only documents matching every token
+        Map<String, Double> scores = null;
+        for (String token : queryTokens) {
+            Map<String, Double> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Set<String>> term : segment.termsWithPrefix(token).entrySet()) {
+                double termScore = term.getKey().equals(token) ? EXACT_TERM_SCORE : PREFIX_TERM_SCORE;
+                for (String id : term.getValue()) {
+                    if (categoryIds == null || categoryIds.contains(id)) {
+                        tokenScores.merge(id, termScore, Math::max);
+                    }
+                }
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((id, score) -> score + tokenScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        String phrase = String.join(" ", queryTokens);
+        List<ScoredProduct> results = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            IndexedProduct entry = segment.documents.get(id);
+            double boost = entry.normalizedName().startsWith(phrase) ? NAME_PREFIX_BOOST : 0;
+            results.add(new ScoredProduct(entry, score + boost));
+        });
+        return results;
+    }
+
+    private Comparator<ScoredProduct> comparator(Sort sort, boolean rankByRelevance) {
+        Comparator<ScoredProduct> byName = Comparator.comparing(
+                m -> m.entry().normalizedName());
+        if (sort.isUnsorted()) {
+            return rankByRelevance
+                    ? Comparator.comparingDouble(ScoredProduct::score).reversed().thenComparing(byName)
+                    : byName;
+        }
+
+        Comparator<ScoredProduct> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<ScoredProduct> next = switch (order.getProperty()) {
+                case "price" -> Comparator.comparing(m -> m.entry().response().getPrice(),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "createdAt" -> Comparator.comparing(m -> m.entry().response().getCreatedAt(),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(m -> m.entry().response().getUpdatedAt(),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "sku" -> Comparator.comparing(m -> m.entry().response().getSku(),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                case "name" -> byName;
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result.thenComparing(m -> m.entry().response().getId());
+    }
+
+    private IndexedProduct toEntry(Product product) {
+        ProductResponse response = productMapper.toResponse(product);
+        String normalizedName = String.join(" ", tokenize(product.getName()));
+        String categoryKey = response.getCategoryName() != null
+                ? response.getCategoryName().toLowerCase(Locale.ROOT)
+                : null;
+        return new IndexedProduct(response, normalizedName, new HashSet<>(tokenize(product.getName())), categoryKey);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedProduct(ProductResponse response, String normalizedName,
+                                  Set<String> terms, String categoryKey) {
+    }
+
+    private record ScoredProduct(IndexedProduct entry, double score) {
+    }
+
+    /**
+     * An incremental update: the product's new entry, or null for a delete.
+     */
+    private record Mutation(String productId, IndexedProduct entry) {
+
+        void applyTo(Segment target) {
+            target.remove(productId);
+            if (entry != null) {
+                target.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Mutable index structures; guarded by the enclosing index's lock once published.
+     */
+    private static final class Segment {
+
+        private final Map<String, IndexedProduct> documents = new HashMap<>();
+        private final NavigableMap<String, Set<String>> terms = new TreeMap<>();
+        private final Map<String, Set<String>> categories = new HashMap<>();
+
+        void add(IndexedProduct entry) {
+            String id = entry.response().getId();
+            documents.put(id, entry);
+            for (String term : entry.terms()) {
+                terms.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+            }
+            if (entry.categoryKey() != null) {
+                categories.computeIfAbsent(entry.categoryKey(), c -> new HashSet<>()).add(id);
+            }
+        }
+
+        void remove(String id) {
+            IndexedProduct existing = documents.remove(id);
+            if (existing == null) {
+                return;
+            }
+            for (String term : existing.terms()) {
+                Set<String> ids = terms.get(term);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+            if (existing.categoryKey() != null) {
+                Set<String> ids = categories.get(existing.categoryKey());
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    categories.remove(existing.categoryKey());
+                }
+            }
+        }
+
+        NavigableMap<String, Set<String>> termsWithPrefix(String prefix) {
+            return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        Set<String> idsInCategoriesContaining(String fragment) {
+            Set<String> ids = new HashSet<>();
+            categories.forEach((categoryKey, categoryIds) -> {
+                if (categoryKey.contains(fragment)) {
+                    ids.addAll(categoryIds);
+                }
+            });
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.product.entity.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies catalog changes announced on {@link CacheNames#PRODUCT_CHANGES_CHANNEL} to this replica's
+ * search index, so writes made through any replica become searchable everywhere within moments
+ * instead of at the next scheduled rebuild.
+ *
+ * A product id re-reads that product from Mongo (re-indexing it, or removing it when it is gone);
+ * {@link CacheNames#ALL_PRODUCTS} triggers a full rebuild. The replica that made a change receives
+ * its own announcement too, which only re-applies the same state.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexSync implements MessageListener {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String productId = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (CacheNames.ALL_PRODUCTS.equals(productId)) {
+                productSearchIndex.rebuild();
+                return;
+            }
+            Product product = mongoTemplate.findById(productId, Product.class);
+            if (product != null) {
+                productSearchIndex.index(product);
+            } else {
+                productSearchIndex.remove(productId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply catalog change {} to the search index: {}", productId, e.getMessage());
+        }
+    }
+}
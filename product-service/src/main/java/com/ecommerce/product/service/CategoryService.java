@@ -0,0 +1,68 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.dto.CategoryRequest;
+import com.ecommerce.common.dto.CategoryResponse;
+import com.ecommerce.common.exception.DuplicateResourceException;
+import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.product.category.CategoryDenormalizer;
+import com.ecommerce.product.category.CategoryRegistry;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final CategoryDenormalizer categoryDenormalizer;
+
+    public List<CategoryResponse> getAllCategories() {
+        return categoryRegistry.all().stream()
+                .sorted(Comparator.comparing(Category::getName, String.CASE_INSENSITIVE_ORDER))
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Renames/describes a category. Products embedding it are updated in the background.
+     */
+    public CategoryResponse updateCategory(String id, CategoryRequest request) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+
+        categoryRegistry.findByName(request.getName())
+                .filter(existing -> !existing.getId().equals(id))
+                .ifPresent(existing -> {
+                    throw new DuplicateResourceException("Category", "name", request.getName());
+                });
+
+        boolean renamed = !category.getName().equals(request.getName());
+        category.setName(request.getName());
+        category.setDescription(request.getDescription());
+
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.update(saved);
+        if (renamed) {
+            categoryDenormalizer.propagate(saved);
+        }
+        log.info("Updated category: {} ('{}')", saved.getId(), saved.getName());
+        return toResponse(saved);
+    }
+
+    private CategoryResponse toResponse(Category category) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .createdAt(category.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,315 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.common.dto.ProductImportResult;
+import com.ecommerce.common.dto.ProductRequest;
+import com.ecommerce.product.category.CategoryRegistry;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductChangePublisher;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import for the product catalog (NDJSON or CSV).
+ *
+ * Rows are parsed one line at a time and written in chunks: each chunk costs one $in query to find
+ * SKUs already in Mongo and one unordered bulk insert. Categories are resolved through the in-memory
+ * CategoryRegistry, SKUs repeated within the file are dropped in memory, and the PRODUCTS cache is
+ * evicted once for the whole import rather than per product.
+ *
+ * CSV input needs a header row naming the ProductRequest fields
+ * (name, description, price, sku, categoryName, imageUrl); quoted fields may not span lines.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    /** MongoDB duplicate key error; the unique sku index rejected the document. */
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CategoryRegistry categoryRegistry;
+    private final ProductMapper productMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductChangePublisher productChangePublisher;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final int chunkSize;
+
+    public ProductImportService(MongoTemplate mongoTemplate,
+                                CategoryRegistry categoryRegistry,
+                                ProductMapper productMapper,
+                                ProductSearchIndex productSearchIndex,
+                                ProductChangePublisher productChangePublisher,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                @Value("${product.import.chunk-size:500}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.categoryRegistry = categoryRegistry;
+        this.productMapper = productMapper;
+        this.productSearchIndex = productSearchIndex;
+        this.productChangePublisher = productChangePublisher;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(ProductRequest.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @CacheEvict(value = CacheNames.PRODUCTS, allEntries = true)
+    public ProductImportResult importProducts(InputStream input, Format format) {
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read product import stream", e);
+        }
+        run.flush();
+        if (run.inserted > 0) {
+            productChangePublisher.catalogChanged();
+        }
+
+        ProductImportResult result = ProductImportResult.builder()
+                .received(run.received)
+                .inserted(run.inserted)
+                .duplicates(run.duplicates)
+                .rejected(run.rejected)
+                .failed(run.failed)
+                .durationMs((System.nanoTime() - run.startNanos) / 1_000_000)
+                .errors(run.errors)
+                .build();
+        log.info("Product import finished: received={}, inserted={}, duplicates={}, rejected={}, failed={} in {} ms",
+                result.getReceived(), result.getInserted(), result.getDuplicates(), result.getRejected(),
+                result.getFailed(), result.getDurationMs());
+        return result;
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(lineNumber, requestReader.readValue(line));
+            } catch (IOException e) {
+                run.malformed(lineNumber, "malformed JSON");
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = parseCsvLine(header).stream()
+                .map(String::trim)
+                .toList();
+
+        String line;
+        long lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parseCsvLine(line);
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                row.put(columns.get(i), values.get(i).isEmpty() ? null : values.get(i));
+            }
+            try {
+                run.accept(lineNumber, ProductRequest.builder()
+                        .name(row.get("name"))
+                        .description(row.get("description"))
+                        .price(row.get("price") != null ? new BigDecimal(row.get("price")) : null)
+                        .sku(row.get("sku"))
+                        .categoryName(row.get("categoryName"))
+                        .imageUrl(row.get("imageUrl"))
+                        .build());
+            } catch (NumberFormatException e) {
+                run.malformed(lineNumber, "price: not a number");
+            }
+        }
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * State of a single import: pending chunk, SKUs seen so far and counters.
+     */
+    private final class ImportRun {
+
+        private final long startNanos = System.nanoTime();
+        private final Set<String> seenSkus = new HashSet<>();
+        private final List<ProductRequest> chunk = new ArrayList<>(chunkSize);
+        private final List<String> errors = new ArrayList<>();
+
+        private long received;
+        private long inserted;
+        private long duplicates;
+        private long rejected;
+        private long failed;
+
+        void accept(long lineNumber, ProductRequest request) {
+            received++;
+            Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<ProductRequest> first = violations.iterator().next();
+                reject(lineNumber, first.getPropertyPath() + ": " + first.getMessage());
+                return;
+            }
+            if (!seenSkus.add(request.getSku())) {
+                duplicates++;
+                return;
+            }
+            chunk.add(request);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void malformed(long lineNumber, String reason) {
+            received++;
+            reject(lineNumber, reason);
+        }
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            report("line " + lineNumber + ": " + reason);
+        }
+
+        private void report(String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Set<String> chunkSkus = chunk.stream().map(ProductRequest::getSku).collect(Collectors.toSet());
+            Query existingQuery = new Query(Criteria.where("sku").in(chunkSkus));
+            existingQuery.fields().include("sku");
+            Set<String> existingSkus = mongoTemplate.find(existingQuery, Product.class).stream()
+                    .map(Product::getSku)
+                    .collect(Collectors.toSet());
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Product> products = new ArrayList<>(chunk.size());
+            for (ProductRequest request : chunk) {
+                if (existingSkus.contains(request.getSku())) {
+                    duplicates++;
+                    continue;
+                }
+                Product product = productMapper.toEntity(request);
+                // Ids, timestamps and version are assigned up front so the entities are complete
+                // without relying on per-document save callbacks
+                product.setId(new ObjectId().toHexString());
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                product.setVersion(0L);
+                if (request.getCategoryName() != null && !request.getCategoryName().isBlank()) {
+                    product.setCategory(categoryRegistry.resolveOrCreate(request.getCategoryName()));
+                }
+                products.add(product);
+            }
+            chunk.clear();
+            if (products.isEmpty()) {
+                return;
+            }
+
+            Set<Integer> failedIndexes = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)
+                        .insert(products)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // Unordered: every other document was still written. A duplicate key is a SKU inserted
+                // concurrently; anything else is a real write failure
+                for (BulkWriteError error : e.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    if (error.getCode() == DUPLICATE_KEY) {
+                        duplicates++;
+                    } else {
+                        failed++;
+                        report("sku " + products.get(error.getIndex()).getSku() + ": " + error.getMessage());
+                    }
+                }
+            }
+
+            for (int i = 0; i < products.size(); i++) {
+                if (!failedIndexes.contains(i)) {
+                    productSearchIndex.index(products.get(i));
+                    inserted++;
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.ecommerce.product.service;
 
 import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.common.dto.ProductCursorPage;
 import com.ecommerce.common.dto.ProductRequest;
 import com.ecommerce.common.dto.ProductResponse;
+import com.ecommerce.common.dto.ProductSummaryResponse;
 import com.ecommerce.common.exception.DuplicateResourceException;
 import com.ecommerce.common.exception.ResourceNotFoundException;
+import com.ecommerce.product.category.CategoryRegistry;
 import com.ecommerce.product.entity.Category;
 import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductChangePublisher;
 import com.ecommerce.product.mapper.ProductMapper;
-import com.ecommerce.product.repository.CategoryRepository;
 import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -17,23 +21,101 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductService {
 
+    public static final int MAX_LISTING_PAGE_SIZE = 100;
+
+    private static final Set<String> LISTING_SORT_FIELDS = Set.of("name", "price", "createdAt");
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductChangePublisher productChangePublisher;
 
+    /**
+     * Served from the in-memory search index once it is built; falls back to the Mongo regex query
+     * only while the index is still loading at startup.
+     */
     public Page<ProductResponse> getAllProducts(String name, String categoryName, Pageable pageable) {
+        if (productSearchIndex.isReady()) {
+            return productSearchIndex.search(name, categoryName, pageable);
+        }
         return productRepository.findByFilters(name, categoryName, pageable)
                 .map(productMapper::toResponse);
     }
 
-    @Cacheable(value = CacheNames.PRODUCT_BY_ID, key = "#id")
+    /**
+     * Keyset-paginated listing on (sortField, _id): no skip and no count query, so every page costs
+     * the same. Category is matched exactly (case-insensitively resolved to the stored name in memory).
+     * First pages are cached per filter combination and evicted with the rest of the PRODUCTS cache.
+     */
+    @Cacheable(value = CacheNames.PRODUCTS,
+            key = "'listing:' + #categoryName + ':' + #sortField + ':' + #direction + ':' + #size",
+            condition = "#cursor == null", sync = true)
+    public ProductCursorPage getProductListing(String categoryName, String sortField, Sort.Direction direction,
+                                               String cursor, int size) {
+        if (!LISTING_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        }
+        if (size < 1 || size > MAX_LISTING_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_LISTING_PAGE_SIZE);
+        }
+
+        String storedCategoryName = null;
+        if (categoryName != null && !categoryName.isBlank()) {
+            Optional<Category> category = categoryRegistry.findByName(categoryName);
+            if (category.isEmpty()) {
+                return ProductCursorPage.builder().items(List.of()).hasMore(false).build();
+            }
+            storedCategoryName = category.get().getName();
+        }
+
+        Object afterValue = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor, sortField);
+            afterValue = parseSortValue(sortField, position[0]);
+            afterId = position[1];
+        }
+
+        List<Product> rows = productRepository.findListingPage(
+                storedCategoryName, sortField, direction, afterValue, afterId, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<ProductSummaryResponse> items = (hasMore ? rows.subList(0, size) : rows).stream()
+                .map(productMapper::toSummary)
+                .toList();
+        String nextCursor = hasMore ? encodeCursor(sortField, rows.get(size - 1)) : null;
+
+        return ProductCursorPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public Map<String, Long> getCategoryFacets(String name) {
+        return productSearchIndex.categoryFacets(name);
+    }
+
+    @Cacheable(value = CacheNames.PRODUCT_BY_ID, key = "#id", sync = true)
     public ProductResponse getProductById(String id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
@@ -51,13 +133,12 @@ public class ProductService {
         Product product = productMapper.toEntity(request);
 
         if (request.getCategoryName() != null && !request.getCategoryName().isBlank()) {
-            Category category = categoryRepository.findByNameIgnoreCase(request.getCategoryName())
-                    .orElseGet(() -> categoryRepository.save(
-                            Category.builder().name(request.getCategoryName()).build()));
-            product.setCategory(category);
+            product.setCategory(categoryRegistry.resolveOrCreate(request.getCategoryName()));
         }
 
         Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productChangePublisher.productChanged(saved.getId());
         log.info("Created product: {} (SKU: {})", saved.getId(), saved.getSku());
         return productMapper.toResponse(saved);
     }
@@ -79,13 +160,12 @@ public class ProductService {
         productMapper.updateEntity(request, product);
 
         if (request.getCategoryName() != null && !request.getCategoryName().isBlank()) {
-            Category category = categoryRepository.findByNameIgnoreCase(request.getCategoryName())
-                    .orElseGet(() -> categoryRepository.save(
-                            Category.builder().name(request.getCategoryName()).build()));
-            product.setCategory(category);
+            product.setCategory(categoryRegistry.resolveOrCreate(request.getCategoryName()));
         }
 
         Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productChangePublisher.productChanged(saved.getId());
         log.info("Updated product: {}", saved.getId());
         return productMapper.toResponse(saved);
     }
@@ -99,6 +179,48 @@ public class ProductService {
             throw new ResourceNotFoundException("Product", "id", id);
         }
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
+        productChangePublisher.productChanged(id);
         log.info("Deleted product: {}", id);
     }
+
+    private String encodeCursor(String sortField, Product last) {
+        Object value = switch (sortField) {
+            case "price" -> last.getPrice();
+            case "createdAt" -> last.getCreatedAt();
+            default -> last.getName();
+        };
+        String raw = sortField + CURSOR_SEPARATOR + value + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns [sortValue, id]. The sort field is embedded so a cursor cannot be replayed under another sort.
+     */
+    private String[] decodeCursor(String cursor, String sortField) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int first = raw.indexOf(CURSOR_SEPARATOR);
+        int last = raw.lastIndexOf(CURSOR_SEPARATOR);
+        if (first < 0 || first == last || !raw.substring(0, first).equals(sortField)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[]{raw.substring(first + 1, last), raw.substring(last + 1)};
+    }
+
+    private Object parseSortValue(String sortField, String value) {
+        try {
+            return switch (sortField) {
+                case "price" -> new BigDecimal(value);
+                case "createdAt" -> LocalDateTime.parse(value);
+                default -> value;
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 }
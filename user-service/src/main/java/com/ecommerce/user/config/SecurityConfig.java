@@ -21,9 +21,13 @@ public class SecurityConfig {
     @Value("${jwt.expiration-ms:86400000}")
     private long jwtExpirationMs;
 
+    /** Raising this upgrades existing hashes on their owners' next successful login. */
+    @Value("${user.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
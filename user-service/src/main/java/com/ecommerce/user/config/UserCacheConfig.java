@@ -0,0 +1,23 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.common.cache.RedisCacheConfig;
+import com.ecommerce.common.cache.RedisMultiGet;
+import com.ecommerce.common.dto.UserSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public RedisMultiGet<UUID, UserSummaryResponse> userSummaryMultiGet(StringRedisTemplate stringRedisTemplate,
+                                                                        MeterRegistry meterRegistry) {
+        return new RedisMultiGet<>(stringRedisTemplate, CacheNames.USER_SUMMARY_BY_ID, UserSummaryResponse.class,
+                RedisCacheConfig.USER_TTL, meterRegistry);
+    }
+}
@@ -1,19 +1,25 @@
 package com.ecommerce.user.controller;
 
+import com.ecommerce.common.dto.UserBatchRequest;
 import com.ecommerce.common.dto.UserRegistrationRequest;
 import com.ecommerce.common.dto.UserResponse;
+import com.ecommerce.common.dto.UserSummaryResponse;
+import com.ecommerce.common.security.RoleGuard;
 import com.ecommerce.common.security.SecurityConstants;
 import com.ecommerce.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -36,4 +42,15 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Bulk lookup for internal callers and operators only.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserSummaryResponse>> getUsers(
+            @RequestHeader(value = SecurityConstants.USER_ROLE_HEADER, required = false) String role,
+            @Valid @RequestBody UserBatchRequest request) {
+        RoleGuard.requireAdminOrService(role);
+        return ResponseEntity.ok(userService.getUserSummaries(request.getUserIds()));
+    }
+
 }
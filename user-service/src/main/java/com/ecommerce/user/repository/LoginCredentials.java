@@ -0,0 +1,27 @@
+package com.ecommerce.user.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Login projection of a user: enough to verify the password and build the LoginResponse
+ * without loading the User entity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginCredentials {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String passwordHash;
+    private String role;
+    private LocalDateTime createdAt;
+}
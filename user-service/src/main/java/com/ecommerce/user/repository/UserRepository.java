@@ -1,9 +1,16 @@
 package com.ecommerce.user.repository;
 
+import com.ecommerce.common.dto.UserSummaryResponse;
 import com.ecommerce.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +21,26 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT new com.ecommerce.user.repository.LoginCredentials(u.id, u.firstName, u.lastName, u.email, "
+            + "u.password, u.role, u.createdAt) FROM User u WHERE u.email = :email")
+    Optional<LoginCredentials> findLoginCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * Single IN query selecting only the summary columns (no password hash, no entity hydration).
+     */
+    @Query("SELECT new com.ecommerce.common.dto.UserSummaryResponse(u.id, u.firstName, u.lastName, u.email) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Replaces the password hash only if it is still the one that was verified, so a background
+     * rehash never overwrites a password changed in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int upgradePasswordHash(@Param("id") UUID id,
+                            @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
+
 }
@@ -0,0 +1,46 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.common.cache.FillableCache;
+import com.ecommerce.user.repository.LoginCredentials;
+import com.ecommerce.user.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Email → login credentials, through the shared cache manager so evictions reach every replica
+ * (and the L1 when the two-level cache is enabled). Unknown emails are not cached.
+ *
+ * Entries hold the BCrypt hash, never the password; they are evicted whenever the user's email or
+ * password changes, including background cost upgrades.
+ */
+@Component
+public class LoginCredentialCache {
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+
+    public LoginCredentialCache(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheNames.USER_CREDENTIALS_BY_EMAIL);
+    }
+
+    public Optional<LoginCredentials> find(String email) {
+        LoginCredentials cached = cache.get(email, LoginCredentials.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<LoginCredentials> loaded = userRepository.findLoginCredentialsByEmail(email);
+        loaded.ifPresent(credentials -> FillableCache.fill(cache, email, credentials));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.evict(email);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs BCrypt hashing on a dedicated, bounded pool instead of the request thread.
+ *
+ * - Concurrency: at most {@code user.password.hashing.threads} hashes run at once (default: CPU count),
+ *   so a login storm cannot turn every Tomcat thread into a CPU-bound hasher.
+ * - Admission: a bounded queue sits in front of the pool; when it is full, or a queued hash has not
+ *   finished within {@code max-wait}, the request is shed with 503 + Retry-After instead of piling up.
+ * - Rehash: hashes created with a lower BCrypt cost than configured are upgraded in the background
+ *   after a successful match, using spare pool capacity only.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Duration latencySlo;
+
+    private final Timer hashTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Counter rehashes;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${user.password.hashing.threads:0}") int threads,
+            @Value("${user.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${user.password.hashing.max-wait:2s}") Duration maxWait,
+            @Value("${user.password.hashing.latency-slo:250ms}") Duration latencySlo,
+            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        this.latencySlo = latencySlo;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("user.password.hashing.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("user.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+        this.hashTimer = meterRegistry.timer("user.password.hashing.duration");
+        this.rejected = meterRegistry.counter("user.password.hashing.shed", "reason", "queue_full");
+        this.timedOut = meterRegistry.counter("user.password.hashing.shed", "reason", "timeout");
+        this.rehashes = meterRegistry.counter("user.password.hashing.rehashes");
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-encodes a password with the current cost in the background and hands the new hash to
+     * {@code onRehashed}. Only runs on an idle hashing thread, so it never queues ahead of a login;
+     * while the pool is busy it is skipped and the next login simply tries again.
+     */
+    public void rehashInBackground(CharSequence rawPassword, Consumer<String> onRehashed) {
+        if (!executor.getQueue().isEmpty() || executor.getActiveCount() >= executor.getMaximumPoolSize()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(hashTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                    rehashes.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Background password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool saturated between the check and the submit: leave the old hash in place
+        }
+    }
+
+    /**
+     * Times one hash at the configured cost so an undersized or oversized cost factor shows up in the logs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkCostAgainstSlo() {
+        long start = System.nanoTime();
+        passwordEncoder.encode("cost-calibration");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        if (elapsed.compareTo(latencySlo) > 0) {
+            log.warn("Password hash takes {} ms at the configured cost, above the {} ms SLO",
+                    elapsed.toMillis(), latencySlo.toMillis());
+        } else {
+            log.info("Password hash takes {} ms at the configured cost (SLO {} ms)",
+                    elapsed.toMillis(), latencySlo.toMillis());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Authentication is temporarily overloaded, please retry", 1);
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timedOut.increment();
+            throw new ServiceOverloadedException("Authentication is temporarily overloaded, please retry", 1);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package com.ecommerce.user.service;
 
 import com.ecommerce.common.cache.CacheNames;
+import com.ecommerce.common.cache.RedisMultiGet;
 import com.ecommerce.common.dto.LoginRequest;
 import com.ecommerce.common.dto.LoginResponse;
 import com.ecommerce.common.dto.UserRegistrationRequest;
 import com.ecommerce.common.dto.UserResponse;
+import com.ecommerce.common.dto.UserSummaryResponse;
 import com.ecommerce.common.exception.DuplicateResourceException;
 import com.ecommerce.common.exception.ResourceNotFoundException;
 import com.ecommerce.common.security.JwtUtil;
 import com.ecommerce.user.entity.User;
 import com.ecommerce.user.mapper.UserMapper;
+import com.ecommerce.user.repository.LoginCredentials;
 import com.ecommerce.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +35,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final RedisMultiGet<UUID, UserSummaryResponse> userSummaryMultiGet;
+    private final LoginCredentialCache loginCredentialCache;
+    private final LoginMetrics loginMetrics;
 
     @Transactional
     public UserResponse register(UserRegistrationRequest request) {
@@ -40,7 +50,7 @@ public class UserService {
         }
 
         User user = userMapper.toEntity(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setRole("USER");
 
         User savedUser = userRepository.save(user);
@@ -49,31 +59,66 @@ public class UserService {
         return userMapper.toResponse(savedUser);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Runs without a transaction: credentials usually come from the cache, and a miss is a single
+     * projection query, so no connection is held while the password is verified.
+     */
     public LoginResponse login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", request.getEmail()));
-
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new IllegalArgumentException("Invalid email or password");
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            LoginCredentials credentials = loginCredentialCache.find(request.getEmail())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "email", request.getEmail()));
+            long phaseStart = loginMetrics.phase(LoginMetrics.LOOKUP, start);
+
+            if (!passwordHashingService.matches(request.getPassword(), credentials.getPasswordHash())) {
+                outcome = "invalid_credentials";
+                throw new IllegalArgumentException("Invalid email or password");
+            }
+            phaseStart = loginMetrics.phase(LoginMetrics.VERIFY, phaseStart);
+            if (passwordHashingService.needsRehash(credentials.getPasswordHash())) {
+                upgradeHashInBackground(credentials, request.getPassword());
+            }
+
+            String token = jwtUtil.generateToken(credentials.getId(), credentials.getEmail(), credentials.getRole());
+            loginMetrics.phase(LoginMetrics.SIGN, phaseStart);
+
+            log.info("User logged in successfully with id: {}", credentials.getId());
+            outcome = "success";
+
+            return LoginResponse.builder()
+                    .token(token)
+                    .tokenType("Bearer")
+                    .expiresIn(jwtUtil.getExpirationMs())
+                    .user(UserResponse.builder()
+                            .id(credentials.getId())
+                            .firstName(credentials.getFirstName())
+                            .lastName(credentials.getLastName())
+                            .email(credentials.getEmail())
+                            .role(credentials.getRole())
+                            .createdAt(credentials.getCreatedAt())
+                            .build())
+                    .build();
+        } catch (ResourceNotFoundException e) {
+            outcome = "unknown_user";
+            throw e;
+        } finally {
+            loginMetrics.total(outcome, start);
         }
+    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
-
-        log.info("User logged in successfully with id: {}", user.getId());
-
-        return LoginResponse.builder()
-                .token(token)
-                .tokenType("Bearer")
-                .expiresIn(jwtUtil.getExpirationMs())
-                .user(userMapper.toResponse(user))
-                .build();
+    private void upgradeHashInBackground(LoginCredentials credentials, String rawPassword) {
+        passwordHashingService.rehashInBackground(rawPassword, newHash -> {
+            if (userRepository.upgradePasswordHash(credentials.getId(), credentials.getPasswordHash(), newHash) > 0) {
+                loginCredentialCache.evict(credentials.getEmail());
+            }
+        });
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.USER_BY_ID, key = "#userId")
+    @Cacheable(value = CacheNames.USER_BY_ID, key = "#userId", sync = true)
     public UserResponse getCurrentUser(String userId) {
         log.debug("Fetching current user with id: {}", userId);
 
@@ -83,20 +128,39 @@ public class UserService {
         return userMapper.toResponse(user);
     }
 
+    /**
+     * Bulk profile lookup: one Redis MGET for the cached summaries, one IN query for the rest.
+     * Unknown ids are omitted; the result follows the request order.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryResponse> getUserSummaries(Collection<UUID> userIds) {
+        return List.copyOf(userSummaryMultiGet.getAll(userIds, missing ->
+                userRepository.findSummariesByIdIn(missing).stream()
+                        .collect(Collectors.toMap(UserSummaryResponse::getId, Function.identity())))
+                .values());
+    }
+
     @Transactional
-    @CacheEvict(value = CacheNames.USER_BY_ID, key = "#userId")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.USER_BY_ID, key = "#userId"),
+            @CacheEvict(value = CacheNames.USER_SUMMARY_BY_ID, key = "#userId")
+    })
     public UserResponse updateUser(String userId, UserRegistrationRequest request) {
         log.info("Updating user with id: {}", userId);
 
         User user = userRepository.findById(UUID.fromString(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
+        // Both the old and the new email may have cached credentials
+        loginCredentialCache.evict(user.getEmail());
+        loginCredentialCache.evict(request.getEmail());
+
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
 
         if (request.getPassword() != null && !request.getPassword().isBlank()) {
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
         }
 
         User updatedUser = userRepository.save(user);